@@ -1,29 +1,50 @@
 package com.atinder.service_status_backend.controller;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
+import java.util.zip.GZIPOutputStream;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.atinder.service_status_backend.dto.CompactServiceGroupDTO;
 import com.atinder.service_status_backend.dto.ServiceDTO;
 import com.atinder.service_status_backend.dto.ServiceGroupDTO;
 import com.atinder.service_status_backend.model.MonitoredService;
 import com.atinder.service_status_backend.repository.ServiceRepository;
+import com.atinder.service_status_backend.service.HistoryExportService;
+import com.atinder.service_status_backend.service.ProbePacer;
+import com.atinder.service_status_backend.service.StatusJournal;
 
 @RestController
 @RequestMapping("/api")
 public class ServiceController {
     
     private final ServiceRepository serviceRepository;
+    private final StatusJournal statusJournal;
+    private final HistoryExportService historyExportService;
+    private final ProbePacer probePacer;
     
-    public ServiceController(ServiceRepository serviceRepository){
+    public ServiceController(ServiceRepository serviceRepository, StatusJournal statusJournal,
+                             HistoryExportService historyExportService, ProbePacer probePacer){
         this.serviceRepository = serviceRepository;
+        this.statusJournal = statusJournal;
+        this.historyExportService = historyExportService;
+        this.probePacer = probePacer;
     }
 
    @GetMapping("/services")
@@ -40,6 +61,14 @@ public class ServiceController {
             computeGroupStatus(serviceDTOs)
         ));
     }
+
+    // Selected when the client sends Accept: application/cbor; JSON stays the default
+    @GetMapping(value = "/services", produces = MediaType.APPLICATION_CBOR_VALUE)
+    public List<CompactServiceGroupDTO> getAllServicesCompact() {
+        return getAllServices().stream()
+            .map(CompactServiceGroupDTO::from)
+            .toList();
+    }
     
     
     @GetMapping("/services/{id}")
@@ -52,14 +81,111 @@ public class ServiceController {
             ));
     }
 
+    /**
+     * Streams check history as CSV (default) or NDJSON, gzip-compressed when the client accepts it.
+     * Rows go page by page from the DB to the socket, so memory stays flat for any range.
+     * Returns 503 when the concurrent export limit is reached.
+     */
+    @GetMapping("/services/{id}/history/export")
+    public ResponseEntity<StreamingResponseBody> exportHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (!serviceRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Service with id " + id + " not found");
+        }
+        HistoryExportService.Format exportFormat = HistoryExportService.Format.parse(format)
+            .orElseThrow(() -> new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "Unsupported format '" + format + "', expected csv or ndjson"
+            ));
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must be before 'to'");
+        }
+
+        if (!historyExportService.tryAcquireSlot()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many exports in progress, retry later");
+        }
+
+        boolean gzip = acceptsGzip(acceptEncoding);
+        StreamingResponseBody body = out -> {
+            try {
+                if (gzip) {
+                    // close() writes the gzip trailer and frees the native Deflater, also when the export fails
+                    try (GZIPOutputStream compressed = new GZIPOutputStream(out, 16 * 1024)) {
+                        historyExportService.export(id, from, to, exportFormat, compressed);
+                    }
+                } else {
+                    historyExportService.export(id, from, to, exportFormat, out);
+                }
+            } finally {
+                historyExportService.releaseSlot();
+            }
+        };
+
+        // No Content-Length: the servlet container sends the body chunked
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"service-" + id + "-history." + exportFormat.extension() + "\"")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * True when the Accept-Encoding header allows gzip, honouring q-values ("gzip;q=0" refuses it).
+     */
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < params.length; i++) {
+                String param = params[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (name.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        if (gzipQuality != null) {
+            return gzipQuality > 0;
+        }
+        return wildcardQuality != null && wildcardQuality > 0;
+    }
+
     private ServiceDTO convertToDTO(MonitoredService service) {
+        StatusJournal.JournalEntry journaled = statusJournal.find(service.getId());
+        // Prefer journaled state when it is newer (e.g. right after a restart, before reconciliation)
+        boolean journalIsNewer = journaled != null && (service.getLastCheckedAt() == null
+            || journaled.lastCheckedAt().isAfter(service.getLastCheckedAt()));
+
         return new ServiceDTO(
             service.getId(),
             service.getName(),
             service.getUrl(),
             service.getCheckType(),
-            service.getCurrentStatus(),
-            service.getLastCheckedAt()
+            journalIsNewer ? journaled.status() : service.getCurrentStatus(),
+            journalIsNewer ? journaled.lastCheckedAt() : service.getLastCheckedAt(),
+            probePacer.lastLagMillis(service.getId())
         );
     }
 
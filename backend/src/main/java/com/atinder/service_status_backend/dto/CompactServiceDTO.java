@@ -0,0 +1,41 @@
+package com.atinder.service_status_backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Compact form of ServiceDTO for binary (CBOR) responses.
+ * Serialized as a positional array: no field names, epoch-millis timestamp, numeric status.
+ */
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({"id", "name", "url", "checkType", "status", "lastCheckedAt"})
+public record CompactServiceDTO(
+    Long id,
+    String name,
+    String url,
+    String checkType,
+    int status,
+    Long lastCheckedAt
+) {
+
+    // Index = wire code. Append only: the frontend decoder relies on these positions.
+    public static final List<String> STATUS_CODES = List.of("Operational", "Degraded", "Maintenance", "Down", "Unknown");
+
+    public static int statusCode(String status) {
+        int code = STATUS_CODES.indexOf(status);
+        return code >= 0 ? code : STATUS_CODES.indexOf("Unknown");
+    }
+
+    public static CompactServiceDTO from(ServiceDTO dto) {
+        return new CompactServiceDTO(
+            dto.getId(),
+            dto.getName(),
+            dto.getUrl(),
+            dto.getCheckType(),
+            statusCode(dto.getCurrentStatus()),
+            dto.getLastCheckedAt() != null ? dto.getLastCheckedAt().toInstant().toEpochMilli() : null
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.atinder.service_status_backend.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Compact form of ServiceGroupDTO for binary (CBOR) responses.
+ * Serialized as a positional array: [title, status, checks].
+ */
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({"title", "status", "checks"})
+public record CompactServiceGroupDTO(
+    String title,
+    int status,
+    List<CompactServiceDTO> checks
+) {
+
+    public static CompactServiceGroupDTO from(ServiceGroupDTO group) {
+        return new CompactServiceGroupDTO(
+            group.getTitle(),
+            CompactServiceDTO.statusCode(group.getStatus()),
+            group.getChecks().stream().map(CompactServiceDTO::from).toList()
+        );
+    }
+}
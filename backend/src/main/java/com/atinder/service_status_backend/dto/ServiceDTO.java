@@ -16,4 +16,5 @@ public class ServiceDTO {
     private String checkType;
     private String currentStatus;
     private OffsetDateTime lastCheckedAt;
+    private Long lagMs; // How late the latest check started; null until checked since the last restart
 }
\ No newline at end of file
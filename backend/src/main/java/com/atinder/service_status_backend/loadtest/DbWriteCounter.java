@@ -0,0 +1,28 @@
+package com.atinder.service_status_backend.loadtest;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.relational.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts aggregate saves published by Spring Data JDBC: services, check_history and alert outbox rows.
+ * Statements issued through @Modifying queries (journal reconcile, outbox claims and purges) are not counted.
+ */
+@Component
+@Profile("loadtest")
+public class DbWriteCounter implements ApplicationListener<AfterSaveEvent<?>> {
+
+    private final AtomicLong writes = new AtomicLong();
+
+    @Override
+    public void onApplicationEvent(AfterSaveEvent<?> event) {
+        writes.incrementAndGet();
+    }
+
+    public long get() {
+        return writes.get();
+    }
+}
@@ -0,0 +1,42 @@
+package com.atinder.service_status_backend.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Thread-safe recorder of latency samples (milliseconds) with exact percentiles.
+ * Keeps every sample: fine for a bounded load-test run, not for production metrics.
+ */
+public class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int count;
+
+    public synchronized void record(long millis) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = millis;
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * Nearest-rank percentile, e.g. percentile(99) for p99. Returns 0 when empty.
+     */
+    public synchronized long percentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return sorted[Math.max(0, Math.min(count, rank) - 1)];
+    }
+
+    public String summary() {
+        return "n=%d p50=%dms p95=%dms p99=%dms max=%dms".formatted(
+            count(), percentile(50), percentile(95), percentile(99), percentile(100));
+    }
+}
@@ -0,0 +1,222 @@
+package com.atinder.service_status_backend.loadtest;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.atinder.service_status_backend.model.MonitoredService;
+import com.atinder.service_status_backend.repository.ServiceRepository;
+import com.atinder.service_status_backend.service.HealthCheckService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Load-test mode (profile "loadtest").
+ *
+ * Seeds N services pointing at a local stub fleet, runs health-check sweeps back to back
+ * while M simulated dashboards poll /api/services, then reports sweep and API latency
+ * percentiles, DB writes per second and heap usage.
+ */
+@Slf4j
+@Component
+@Profile("loadtest")
+public class LoadTestRunner implements ApplicationRunner {
+
+    private static final String SERVICE_PREFIX = "loadtest-";
+
+    private final HealthCheckService healthCheckService;
+    private final ServiceRepository serviceRepository;
+    private final DbWriteCounter dbWriteCounter;
+    private final ConfigurableApplicationContext context;
+    private final Environment environment;
+
+    private final int services;
+    private final int clients;
+    private final int sweeps;
+    private final long clientThinkMs;
+    private final long baseLatencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final double timeoutRate;
+    private final long hangMs;
+    private final boolean exitWhenDone;
+
+    public LoadTestRunner(
+            HealthCheckService healthCheckService,
+            ServiceRepository serviceRepository,
+            DbWriteCounter dbWriteCounter,
+            ConfigurableApplicationContext context,
+            Environment environment,
+            @Value("${loadtest.services:500}") int services,
+            @Value("${loadtest.clients:50}") int clients,
+            @Value("${loadtest.sweeps:5}") int sweeps,
+            @Value("${loadtest.client-think-ms:1000}") long clientThinkMs,
+            @Value("${loadtest.stub.base-latency-ms:50}") long baseLatencyMs,
+            @Value("${loadtest.stub.jitter-ms:100}") long jitterMs,
+            @Value("${loadtest.stub.error-rate:0.02}") double errorRate,
+            @Value("${loadtest.stub.timeout-rate:0.01}") double timeoutRate,
+            @Value("${loadtest.stub.hang-ms:6000}") long hangMs,
+            @Value("${loadtest.exit-when-done:true}") boolean exitWhenDone) {
+        this.healthCheckService = healthCheckService;
+        this.serviceRepository = serviceRepository;
+        this.dbWriteCounter = dbWriteCounter;
+        this.context = context;
+        this.environment = environment;
+        this.services = services;
+        this.clients = clients;
+        this.sweeps = sweeps;
+        this.clientThinkMs = clientThinkMs;
+        this.baseLatencyMs = baseLatencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        this.timeoutRate = timeoutRate;
+        this.hangMs = hangMs;
+        this.exitWhenDone = exitWhenDone;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        StubFleetServer fleet = new StubFleetServer(baseLatencyMs, jitterMs, errorRate, timeoutRate, hangMs);
+        fleet.start();
+        List<MonitoredService> seeded = List.of();
+        try {
+            removeSeededServices();
+            seeded = seedServices(fleet);
+            log.info("Load test: {} services, {} dashboard clients, {} sweeps", services, clients, sweeps);
+            runLoad();
+        } finally {
+            serviceRepository.deleteAll(seeded);
+            fleet.stop();
+        }
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private List<MonitoredService> seedServices(StubFleetServer fleet) {
+        List<MonitoredService> fleetServices = IntStream.range(0, services)
+            .mapToObj(i -> new MonitoredService(SERVICE_PREFIX + i, fleet.endpointUrl(i), "HTTP", "Unknown"))
+            .toList();
+        List<MonitoredService> saved = new ArrayList<>();
+        serviceRepository.saveAll(fleetServices).forEach(saved::add);
+        return saved;
+    }
+
+    // Leftovers from an interrupted run would skew the fleet size
+    private void removeSeededServices() {
+        List<MonitoredService> leftovers = StreamSupport.stream(serviceRepository.findAll().spliterator(), false)
+            .filter(service -> service.getName().startsWith(SERVICE_PREFIX))
+            .toList();
+        serviceRepository.deleteAll(leftovers);
+    }
+
+    private void runLoad() throws InterruptedException {
+        LatencyRecorder sweepLatency = new LatencyRecorder();
+        LatencyRecorder apiLatency = new LatencyRecorder();
+        AtomicLong apiErrors = new AtomicLong();
+        AtomicLong peakHeap = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+        ExecutorService dashboards = Executors.newVirtualThreadPerTaskExecutor();
+        long writes;
+        double elapsedSeconds;
+        try {
+            heapSampler.scheduleAtFixedRate(
+                () -> peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 100, TimeUnit.MILLISECONDS);
+
+            URI servicesUri = URI.create("http://localhost:%s/api/services".formatted(environment.getProperty("local.server.port")));
+            HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            for (int i = 0; i < clients; i++) {
+                dashboards.execute(() -> pollServices(httpClient, servicesUri, running, apiLatency, apiErrors));
+            }
+
+            long writesBefore = dbWriteCounter.get();
+            long start = System.nanoTime();
+            for (int sweep = 1; sweep <= sweeps; sweep++) {
+                long sweepStart = System.nanoTime();
+                healthCheckService.checkAllServices();
+                long sweepMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sweepStart);
+                sweepLatency.record(sweepMs);
+                log.info("Load test sweep {}/{} took {} ms", sweep, sweeps, sweepMs);
+            }
+            elapsedSeconds = (System.nanoTime() - start) / 1e9;
+            writes = dbWriteCounter.get() - writesBefore;
+        } finally {
+            // Also on failure: otherwise dashboard clients keep polling and block the exit
+            running.set(false);
+            dashboards.shutdown();
+            heapSampler.shutdown();
+            if (!dashboards.awaitTermination(30, TimeUnit.SECONDS)) {
+                dashboards.shutdownNow();
+            }
+        }
+
+        log.info("""
+
+            ===== Load test report =====
+            Fleet            {} services, {} dashboard clients, {} sweeps in {} s
+            Sweep time       {}
+            API latency      {} ({} errors)
+            DB writes        {} total, {} /s
+            Heap used        peak {} MB, now {} MB (max {} MB)
+            """,
+            services, clients, sweeps, "%.1f".formatted(elapsedSeconds),
+            sweepLatency.summary(),
+            apiLatency.summary(), apiErrors.get(),
+            writes, "%.1f".formatted(writes / elapsedSeconds),
+            peakHeap.get() >> 20, memory.getHeapMemoryUsage().getUsed() >> 20, memory.getHeapMemoryUsage().getMax() >> 20);
+    }
+
+    private void pollServices(HttpClient httpClient, URI uri, AtomicBoolean running,
+                              LatencyRecorder latency, AtomicLong errors) {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        while (running.get()) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                errors.incrementAndGet();
+            }
+            latency.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            try {
+                Thread.sleep(clientThinkMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.atinder.service_status_backend.loadtest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local HTTP server emulating a fleet of monitored endpoints at /svc/{n}.
+ * Each request draws from the same distribution:
+ * timeoutRate -> hangs past the probe timeout, errorRate -> 503, otherwise 200,
+ * with latency = baseLatencyMs + exponential jitter (mean jitterMs).
+ */
+public class StubFleetServer {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final long baseLatencyMs;
+    private final long jitterMs;
+    private final double errorRate;
+    private final double timeoutRate;
+    private final long hangMs;
+
+    public StubFleetServer(long baseLatencyMs, long jitterMs, double errorRate, double timeoutRate, long hangMs)
+            throws IOException {
+        this.baseLatencyMs = baseLatencyMs;
+        this.jitterMs = jitterMs;
+        this.errorRate = errorRate;
+        this.timeoutRate = timeoutRate;
+        this.hangMs = hangMs;
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        this.server.createContext("/svc/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String endpointUrl(int index) {
+        return "http://localhost:%d/svc/%d".formatted(server.getAddress().getPort(), index);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double draw = random.nextDouble();
+        try {
+            if (draw < timeoutRate) {
+                Thread.sleep(hangMs);
+            } else {
+                long jitter = jitterMs > 0 ? (long) (-jitterMs * Math.log(1 - random.nextDouble())) : 0;
+                Thread.sleep(baseLatencyMs + jitter);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        int status = draw >= timeoutRate && draw < timeoutRate + errorRate ? 503 : 200;
+        exchange.sendResponseHeaders(status, -1);
+        exchange.close();
+    }
+}
@@ -0,0 +1,58 @@
+package com.atinder.service_status_backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "alert_outbox")
+public class AlertOutboxEntry {
+
+    public static final String PENDING = "PENDING";
+    public static final String DELIVERED = "DELIVERED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    private Long id;
+
+    private String sink;
+    private Long serviceId;
+    private String serviceName;
+    private String previousStatus;
+    private String currentStatus;
+    private int transitions;
+    private OffsetDateTime changedAt;
+    private String status;
+    private int attempts;
+    private OffsetDateTime nextAttemptAt;
+    private String lastError;
+    private OffsetDateTime deliveredAt;
+    private OffsetDateTime createdAt;
+
+    // Custom constructor for new outbox rows (DB auto-generates id)
+    public AlertOutboxEntry(String sink, Long serviceId, String serviceName, String previousStatus,
+                            String currentStatus, int transitions, OffsetDateTime changedAt) {
+        this.sink = sink;
+        this.serviceId = serviceId;
+        this.serviceName = serviceName;
+        this.previousStatus = previousStatus;
+        this.currentStatus = currentStatus;
+        this.transitions = transitions;
+        this.changedAt = changedAt;
+        this.status = PENDING;
+        this.attempts = 0;
+        this.nextAttemptAt = OffsetDateTime.now();
+        this.createdAt = OffsetDateTime.now();
+    }
+}
@@ -0,0 +1,37 @@
+package com.atinder.service_status_backend.model;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.OffsetDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Table(name = "check_history")
+public class CheckResult {
+
+    @Id
+    private Long id;
+
+    private Long serviceId;
+    private String status;
+    private Integer responseTimeMs;
+    private OffsetDateTime checkedAt;
+
+    // Custom constructor for recording a probe (DB auto-generates id)
+    public CheckResult(Long serviceId, String status, Integer responseTimeMs, OffsetDateTime checkedAt) {
+        this.serviceId = serviceId;
+        this.status = status;
+        this.responseTimeMs = responseTimeMs;
+        this.checkedAt = checkedAt;
+    }
+}
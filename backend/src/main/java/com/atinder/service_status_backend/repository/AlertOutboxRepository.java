@@ -0,0 +1,37 @@
+package com.atinder.service_status_backend.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.atinder.service_status_backend.model.AlertOutboxEntry;
+
+@Repository
+public interface AlertOutboxRepository extends CrudRepository<AlertOutboxEntry, Long> {
+
+    // Claims the oldest due entries for one sink (uses idx_alert_outbox_due) by pushing their
+    // next_attempt_at to leaseUntil. SKIP LOCKED keeps concurrent dispatchers (other instances)
+    // off the same rows; if the claimer dies mid-send, the rows become due again after the lease.
+    @Transactional
+    @Query("""
+        UPDATE alert_outbox SET next_attempt_at = :leaseUntil
+        WHERE id IN (
+            SELECT id FROM alert_outbox
+            WHERE sink = :sink AND status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED)
+        RETURNING *
+        """)
+    List<AlertOutboxEntry> claimDue(String sink, OffsetDateTime now, OffsetDateTime leaseUntil, int limit);
+
+    // Retention: delivered and given-up rows are only kept for troubleshooting
+    @Modifying
+    @Query("DELETE FROM alert_outbox WHERE status <> 'PENDING' AND created_at < :cutoff")
+    int deleteFinishedBefore(OffsetDateTime cutoff);
+}
@@ -0,0 +1,23 @@
+package com.atinder.service_status_backend.repository;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.stereotype.Repository;
+
+import com.atinder.service_status_backend.model.CheckResult;
+
+@Repository
+public interface CheckHistoryRepository extends CrudRepository<CheckResult, Long>, CheckHistoryStreaming {
+    // Spring Data JDBC auto-implements save(); streaming reads come from CheckHistoryStreamingImpl
+
+    // Bounded delete so retention never holds long locks or bloats one transaction (uses idx_check_history_checked_at)
+    @Modifying
+    @Query("""
+        DELETE FROM check_history
+        WHERE id IN (SELECT id FROM check_history WHERE checked_at < :cutoff LIMIT :limit)
+        """)
+    int deleteCheckedBefore(OffsetDateTime cutoff, int limit);
+}
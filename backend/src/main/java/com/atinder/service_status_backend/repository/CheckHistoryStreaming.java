@@ -0,0 +1,18 @@
+package com.atinder.service_status_backend.repository;
+
+import java.time.OffsetDateTime;
+import java.util.function.Consumer;
+
+import com.atinder.service_status_backend.model.CheckResult;
+
+/**
+ * Paged read of check history, for result sets too large to hold in memory.
+ */
+public interface CheckHistoryStreaming {
+
+    /**
+     * Feeds rows in checked_at order to the consumer, one page at a time.
+     * Range is [from, to). At most one page is held, so memory use is independent of range size.
+     */
+    void streamHistory(Long serviceId, OffsetDateTime from, OffsetDateTime to, Consumer<CheckResult> consumer);
+}
@@ -0,0 +1,64 @@
+package com.atinder.service_status_backend.repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.atinder.service_status_backend.model.CheckResult;
+
+/**
+ * JdbcTemplate-backed fragment of CheckHistoryRepository.
+ * Reads with keyset pagination on (checked_at, id): every page is a short autocommit query,
+ * so no pooled connection or transaction is held while the consumer writes to a slow client.
+ */
+public class CheckHistoryStreamingImpl implements CheckHistoryStreaming {
+
+    // Resumes after the last row of the previous page; ids are positive, so lastId = 0 includes checked_at = from
+    private static final String PAGE_QUERY = """
+        SELECT id, service_id, status, response_time_ms, checked_at
+        FROM check_history
+        WHERE service_id = ? AND checked_at < ?
+          AND (checked_at > ? OR (checked_at = ? AND id > ?))
+        ORDER BY checked_at, id
+        LIMIT ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int pageSize;
+
+    public CheckHistoryStreamingImpl(
+            DataSource dataSource,
+            @Value("${history.export.page-size:1000}") int pageSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void streamHistory(Long serviceId, OffsetDateTime from, OffsetDateTime to, Consumer<CheckResult> consumer) {
+        OffsetDateTime lastCheckedAt = from;
+        long lastId = 0;
+        List<CheckResult> page;
+        do {
+            page = jdbcTemplate.query(PAGE_QUERY, (rs, rowNum) -> new CheckResult(
+                rs.getLong("id"),
+                rs.getLong("service_id"),
+                rs.getString("status"),
+                rs.getObject("response_time_ms", Integer.class),
+                rs.getObject("checked_at", OffsetDateTime.class)
+            ), serviceId, to, lastCheckedAt, lastCheckedAt, lastId, pageSize);
+
+            // Connection is back in the pool before any row reaches the consumer
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                CheckResult last = page.get(page.size() - 1);
+                lastCheckedAt = last.getCheckedAt();
+                lastId = last.getId();
+            }
+        } while (page.size() == pageSize);
+    }
+}
@@ -1,8 +1,11 @@
 package com.atinder.service_status_backend.repository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jdbc.repository.query.Modifying;
+import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
@@ -14,5 +17,13 @@ public interface ServiceRepository extends CrudRepository<MonitoredService, Long
     Optional<MonitoredService> findByName(String name);
 
     List<MonitoredService> findByCurrentStatus(String status);
+
+    // Compare-and-set on last_checked_at: never overwrites a fresher probe result saved concurrently
+    @Modifying
+    @Query("""
+        UPDATE services SET current_status = :status, last_checked_at = :checkedAt, updated_at = NOW()
+        WHERE id = :id AND (last_checked_at IS NULL OR last_checked_at < :checkedAt)
+        """)
+    int updateStatusIfNewer(Long id, String status, OffsetDateTime checkedAt);
     
 }
\ No newline at end of file
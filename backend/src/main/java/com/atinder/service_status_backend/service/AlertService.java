@@ -0,0 +1,264 @@
+package com.atinder.service_status_backend.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import com.atinder.service_status_backend.model.AlertOutboxEntry;
+import com.atinder.service_status_backend.model.MonitoredService;
+import com.atinder.service_status_backend.repository.AlertOutboxRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Turns status changes into outbound notifications.
+ *
+ * Pipeline: publish() (probe thread, never blocks) -> in-memory map coalesced per service
+ * -> alert_outbox rows per sink (durable) -> one batched notification per sink, retried with backoff.
+ * All DB and network work runs on dedicated threads so a slow sink cannot delay the probe loop.
+ * Finished outbox rows are purged after alerts.retention-days.
+ */
+@Slf4j
+@Service
+public class AlertService {
+
+    record PendingChange(Long serviceId, String serviceName, String previousStatus,
+                         String currentStatus, int transitions, OffsetDateTime changedAt) {}
+
+    private final AlertOutboxRepository outboxRepository;
+    private final List<AlertSink> sinks;
+    private final long coalesceWindowMs;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxPending;
+    private final Duration claimLease;
+    private final Duration retention;
+
+    private final Map<Long, PendingChange> pending = new ConcurrentHashMap<>();
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong dropped = new AtomicLong();
+    private ScheduledExecutorService dispatcher;
+    private ExecutorService deliveryPool;
+
+    public AlertService(
+            AlertOutboxRepository outboxRepository,
+            ObjectProvider<AlertSink> sinks,
+            @Value("${alerts.coalesce-window-ms:10000}") long coalesceWindowMs,
+            @Value("${alerts.batch-size:100}") int batchSize,
+            @Value("${alerts.max-attempts:8}") int maxAttempts,
+            @Value("${alerts.initial-backoff-ms:5000}") long initialBackoffMs,
+            @Value("${alerts.max-backoff-ms:300000}") long maxBackoffMs,
+            @Value("${alerts.max-pending:10000}") int maxPending,
+            @Value("${alerts.claim-lease-ms:120000}") long claimLeaseMs,
+            @Value("${alerts.retention-days:30}") int retentionDays) {
+        this.outboxRepository = outboxRepository;
+        this.sinks = sinks.orderedStream().toList();
+        this.coalesceWindowMs = coalesceWindowMs;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = Duration.ofMillis(initialBackoffMs);
+        this.maxBackoff = Duration.ofMillis(maxBackoffMs);
+        this.maxPending = maxPending;
+        this.claimLease = Duration.ofMillis(claimLeaseMs);
+        this.retention = Duration.ofDays(retentionDays);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (sinks.isEmpty()) {
+            log.info("No alert sinks configured, status changes will only be logged");
+            return;
+        }
+        dispatcher = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("alert-dispatcher-"));
+        deliveryPool = Executors.newFixedThreadPool(sinks.size(), new CustomizableThreadFactory("alert-delivery-"));
+        dispatcher.scheduleWithFixedDelay(this::dispatch, coalesceWindowMs, coalesceWindowMs, TimeUnit.MILLISECONDS);
+        dispatcher.scheduleWithFixedDelay(this::purgeFinished, 1, 60, TimeUnit.MINUTES);
+        log.info("Alert sinks enabled: {}", sinks.stream().map(AlertSink::name).toList());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+            try {
+                dispatcher.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Changes from the last coalesce window would otherwise be lost on redeploy
+        try {
+            flushPending();
+        } catch (Exception e) {
+            log.warn("Could not persist {} pending alert(s) on shutdown: {}", pending.size(), e.getMessage());
+        }
+        if (deliveryPool != null) {
+            deliveryPool.shutdown();
+        }
+    }
+
+    /**
+     * Records a status change. Called from the probe loop: O(1), no I/O, never blocks.
+     * Repeated changes of one service within a coalesce window collapse into one entry.
+     */
+    public void publish(MonitoredService service, String previousStatus) {
+        if (sinks.isEmpty() || previousStatus == null || "Unknown".equals(previousStatus)
+                || previousStatus.equals(service.getCurrentStatus())) {
+            return; // First check after startup/creation is not a change worth alerting on
+        }
+        if (pending.size() >= maxPending && !pending.containsKey(service.getId())) {
+            // Bounded memory under sustained overload: shed instead of blocking the probe loop
+            if (dropped.incrementAndGet() % 100 == 1) {
+                log.warn("Alert backlog full ({} services), {} changes dropped so far", maxPending, dropped.get());
+            }
+            return;
+        }
+        PendingChange change = new PendingChange(service.getId(), service.getName(), previousStatus,
+            service.getCurrentStatus(), 1, service.getLastCheckedAt());
+        pending.merge(service.getId(), change, AlertService::coalesce);
+    }
+
+    private static PendingChange coalesce(PendingChange older, PendingChange newer) {
+        return new PendingChange(older.serviceId(), newer.serviceName(), older.previousStatus(),
+            newer.currentStatus(), older.transitions() + newer.transitions(), newer.changedAt());
+    }
+
+    void dispatch() {
+        try {
+            flushPending();
+            sinks.forEach(this::deliverAsync);
+        } catch (Exception e) {
+            log.warn("Alert dispatch failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Moves coalesced changes into the durable outbox, one row per sink.
+     * If the insert fails, the changes go back into the pending map (merged with anything
+     * published meanwhile) and are retried on the next dispatch.
+     */
+    void flushPending() {
+        List<PendingChange> changes = new ArrayList<>();
+        List<AlertOutboxEntry> entries = new ArrayList<>();
+        for (Long serviceId : List.copyOf(pending.keySet())) {
+            PendingChange change = pending.remove(serviceId);
+            if (change == null) {
+                continue;
+            }
+            changes.add(change);
+            for (AlertSink sink : sinks) {
+                entries.add(new AlertOutboxEntry(sink.name(), change.serviceId(), change.serviceName(),
+                    change.previousStatus(), change.currentStatus(), change.transitions(), change.changedAt()));
+            }
+        }
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            outboxRepository.saveAll(entries);
+        } catch (RuntimeException e) {
+            changes.forEach(change -> pending.merge(change.serviceId(), change,
+                (newer, older) -> coalesce(older, newer)));
+            throw e;
+        }
+    }
+
+    void purgeFinished() {
+        try {
+            int purged = outboxRepository.deleteFinishedBefore(OffsetDateTime.now().minus(retention));
+            if (purged > 0) {
+                log.info("Purged {} finished alert outbox rows older than {} days", purged, retention.toDays());
+            }
+        } catch (Exception e) {
+            log.warn("Alert outbox purge failed: {}", e.getMessage());
+        }
+    }
+
+    private void deliverAsync(AlertSink sink) {
+        // At most one batch in flight per sink: a slow endpoint backs up its own outbox only
+        if (!inFlight.add(sink.name())) {
+            return;
+        }
+        try {
+            deliveryPool.execute(() -> {
+                try {
+                    deliverSafely(sink);
+                } finally {
+                    inFlight.remove(sink.name());
+                }
+            });
+        } catch (Exception e) {
+            inFlight.remove(sink.name());
+            throw e;
+        }
+    }
+
+    // DB errors (claim or status update) are logged like dispatch() failures instead of escaping the pool thread
+    void deliverSafely(AlertSink sink) {
+        try {
+            deliverBatch(sink);
+        } catch (Exception e) {
+            log.warn("Alert delivery via {} failed: {}", sink.name(), e.getMessage());
+        }
+    }
+
+    void deliverBatch(AlertSink sink) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<AlertOutboxEntry> batch = outboxRepository.claimDue(sink.name(), now, now.plus(claimLease), batchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            sink.send(batch);
+            batch.forEach(entry -> {
+                entry.setStatus(AlertOutboxEntry.DELIVERED);
+                entry.setDeliveredAt(OffsetDateTime.now());
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setLastError(null);
+            });
+            log.info("Delivered {} alert(s) via {}", batch.size(), sink.name());
+        } catch (Exception e) {
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            batch.forEach(entry -> {
+                int attempts = entry.getAttempts() + 1;
+                entry.setAttempts(attempts);
+                entry.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+                if (attempts >= maxAttempts) {
+                    entry.setStatus(AlertOutboxEntry.FAILED);
+                } else {
+                    entry.setNextAttemptAt(now.plus(backoff(attempts)));
+                }
+            });
+            log.warn("Alert delivery via {} failed (attempt {}): {}", sink.name(), batch.get(0).getAttempts(), error);
+        }
+        outboxRepository.saveAll(batch);
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    int pendingCount() {
+        return pending.size();
+    }
+}
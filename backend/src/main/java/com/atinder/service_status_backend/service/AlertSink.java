@@ -0,0 +1,36 @@
+package com.atinder.service_status_backend.service;
+
+import java.util.List;
+
+import com.atinder.service_status_backend.model.AlertOutboxEntry;
+
+/**
+ * Destination for status-change notifications (webhook, email, ...).
+ * Each call delivers one combined notification for the whole batch;
+ * throwing any exception marks the batch for retry.
+ */
+public interface AlertSink {
+
+    /**
+     * Stable identifier stored in alert_outbox.sink
+     */
+    String name();
+
+    void send(List<AlertOutboxEntry> batch) throws Exception;
+
+    static String subject(List<AlertOutboxEntry> batch) {
+        if (batch.size() == 1) {
+            AlertOutboxEntry entry = batch.get(0);
+            return "%s is %s".formatted(entry.getServiceName(), entry.getCurrentStatus());
+        }
+        return "%d service status changes".formatted(batch.size());
+    }
+
+    static String describe(AlertOutboxEntry entry) {
+        String line = "%s: %s -> %s at %s".formatted(
+            entry.getServiceName(), entry.getPreviousStatus(), entry.getCurrentStatus(), entry.getChangedAt());
+        return entry.getTransitions() > 1
+            ? line + " (flapping, %d changes)".formatted(entry.getTransitions())
+            : line;
+    }
+}
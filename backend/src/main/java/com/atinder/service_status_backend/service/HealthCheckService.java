@@ -2,12 +2,19 @@ package com.atinder.service_status_backend.service;
 
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import com.atinder.service_status_backend.model.CheckResult;
 import com.atinder.service_status_backend.model.MonitoredService;
+import com.atinder.service_status_backend.repository.CheckHistoryRepository;
 import com.atinder.service_status_backend.repository.ServiceRepository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -17,27 +24,53 @@ import lombok.extern.slf4j.Slf4j;
 public class HealthCheckService {
 
     private final ServiceRepository serviceRepository;
+    private final StatusJournal statusJournal;
+    private final AlertService alertService;
+    private final CheckHistoryRepository checkHistoryRepository;
+    private final ProbePacer probePacer;
     private final WebClient webClient;
 
-    public HealthCheckService(ServiceRepository serviceRepository) {
+    public HealthCheckService(ServiceRepository serviceRepository, StatusJournal statusJournal,
+                              AlertService alertService, CheckHistoryRepository checkHistoryRepository,
+                              ProbePacer probePacer) {
         this.serviceRepository = serviceRepository;
+        this.statusJournal = statusJournal;
+        this.alertService = alertService;
+        this.checkHistoryRepository = checkHistoryRepository;
+        this.probePacer = probePacer;
         this.webClient  = WebClient.builder()
             .baseUrl("http://dummy")
             .build();
     }
 
-    @Scheduled(fixedDelay = 30000)
+    // Ticks often; ProbePacer decides which services are due (health-check.interval-ms) and bounds each tick
+    @Scheduled(fixedDelayString = "${health-check.tick-ms:5000}")
     public void checkAllServices(){
         try{
-            serviceRepository
-            .findAll()
-            .forEach(this::performHealthCheck);
+            long sweepStart = System.nanoTime();
+            List<MonitoredService> plan = probePacer.plan(serviceRepository.findAll(), OffsetDateTime.now());
+
+            int checked = 0;
+            for (MonitoredService service : plan) {
+                if (!probePacer.withinBudget(sweepStart)) {
+                    break; // Rest stays due and goes first next tick
+                }
+                long checkStart = System.nanoTime();
+                probePacer.recordCheckStart(service, OffsetDateTime.now());
+                performHealthCheck(service);
+                probePacer.recordCheckCost(System.nanoTime() - checkStart);
+                checked++;
+            }
+
+            probePacer.recordSweep(plan.subList(checked, plan.size()), System.nanoTime() - sweepStart);
         }catch(Exception e){
             System.err.printf("Encountered an error: %s%n",e.getMessage());
         }
     }
 
     private void performHealthCheck(MonitoredService service) {
+        String previousStatus = service.getCurrentStatus();
+        long startNanos = System.nanoTime();
         try {
             webClient.get()
                 .uri(service.getUrl())
@@ -53,9 +86,48 @@ public class HealthCheckService {
             service.setCurrentStatus("Down");
         }
         
+        int responseTimeMs = (int) Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
         service.setLastCheckedAt(OffsetDateTime.now());
+        statusJournal.record(service); // Journal first: survives a crash before the DB write
         serviceRepository.save(service);
+        checkHistoryRepository.save(new CheckResult(
+            service.getId(), service.getCurrentStatus(), responseTimeMs, service.getLastCheckedAt()));
+        alertService.publish(service, previousStatus); // Non-blocking: delivery happens on alert threads
 
         log.info("Health check completed for {}: {}", service.getName(), service.getCurrentStatus());
     }
+
+    /**
+     * Brings the DB in line with the journal restored at startup.
+     * Runs off the main thread so startup is not held up by Postgres.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileJournalInBackground() {
+        CompletableFuture.runAsync(this::reconcileJournal);
+    }
+
+    void reconcileJournal() {
+        try {
+            var journaled = statusJournal.snapshot();
+            List<Long> existingIds = new ArrayList<>();
+            int updated = 0;
+
+            for (MonitoredService service : serviceRepository.findAll()) {
+                existingIds.add(service.getId());
+                var entry = journaled.get(service.getId());
+                if (entry == null) {
+                    continue;
+                }
+                // Conditional UPDATE so a sweep that saved fresher data after findAll() is never overwritten
+                if (serviceRepository.updateStatusIfNewer(service.getId(), entry.status(), entry.lastCheckedAt()) > 0) {
+                    updated++;
+                }
+            }
+            statusJournal.retainOnly(existingIds);
+
+            log.info("Status journal reconciled: {} services updated from journal", updated);
+        } catch (Exception e) {
+            log.warn("Status journal reconciliation failed: {}", e.getMessage());
+        }
+    }
 }
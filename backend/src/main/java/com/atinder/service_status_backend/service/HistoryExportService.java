@@ -0,0 +1,136 @@
+package com.atinder.service_status_backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.atinder.service_status_backend.model.CheckResult;
+import com.atinder.service_status_backend.repository.CheckHistoryRepository;
+
+/**
+ * Writes check history as CSV or NDJSON, page by page, to an output stream.
+ * Nothing is buffered beyond one page and the writer's buffer: a slow client blocks the write,
+ * which in turn stops the next page from being fetched.
+ * At most history.export.max-concurrent exports run at once, to bound DB and worker-thread load.
+ */
+@Service
+public class HistoryExportService {
+
+    private static final OffsetDateTime BEGINNING = OffsetDateTime.of(1970, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    public enum Format {
+        CSV("csv", "text/csv"),
+        NDJSON("ndjson", "application/x-ndjson");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public static Optional<Format> parse(String value) {
+            return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(value))
+                .findFirst();
+        }
+    }
+
+    private final CheckHistoryRepository checkHistoryRepository;
+    private final Semaphore exportSlots;
+
+    public HistoryExportService(
+            CheckHistoryRepository checkHistoryRepository,
+            @Value("${history.export.max-concurrent:2}") int maxConcurrent) {
+        this.checkHistoryRepository = checkHistoryRepository;
+        this.exportSlots = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Reserves an export slot without waiting. Every successful call must be paired with releaseSlot().
+     */
+    public boolean tryAcquireSlot() {
+        return exportSlots.tryAcquire();
+    }
+
+    public void releaseSlot() {
+        exportSlots.release();
+    }
+
+    /**
+     * Exports [from, to) for one service; null bounds mean "from the beginning" / "until now".
+     */
+    public void export(Long serviceId, OffsetDateTime from, OffsetDateTime to, Format format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        if (format == Format.CSV) {
+            writer.write("service_id,checked_at,status,response_time_ms\n");
+        }
+
+        try {
+            checkHistoryRepository.streamHistory(
+                serviceId,
+                from != null ? from : BEGINNING,
+                to != null ? to : OffsetDateTime.now(),
+                row -> writeRow(writer, format, row));
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // Client went away: surface as the I/O error it is
+        }
+        writer.flush();
+    }
+
+    private void writeRow(Writer writer, Format format, CheckResult row) {
+        String responseTime = row.getResponseTimeMs() != null ? row.getResponseTimeMs().toString() : "";
+        try {
+            if (format == Format.CSV) {
+                writer.write(row.getServiceId() + "," + row.getCheckedAt() + "," + csv(row.getStatus()) + "," + responseTime + "\n");
+            } else {
+                writer.write("{\"serviceId\":" + row.getServiceId()
+                    + ",\"checkedAt\":\"" + row.getCheckedAt()
+                    + "\",\"status\":" + json(row.getStatus())
+                    + ",\"responseTimeMs\":" + (responseTime.isEmpty() ? "null" : responseTime)
+                    + "}\n");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static String json(String value) {
+        if (value == null) {
+            return "null";
+        }
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + "\"";
+    }
+}
@@ -0,0 +1,55 @@
+package com.atinder.service_status_backend.service;
+
+import java.time.OffsetDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.atinder.service_status_backend.repository.CheckHistoryRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes check history older than history.retention-days. Opt-in: the default 0 keeps everything,
+ * since the history is kept for audits.
+ * Rows are removed in bounded batches so the purge never holds long locks.
+ */
+@Slf4j
+@Service
+public class HistoryRetentionService {
+
+    private final CheckHistoryRepository checkHistoryRepository;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public HistoryRetentionService(
+            CheckHistoryRepository checkHistoryRepository,
+            @Value("${history.retention-days:0}") int retentionDays,
+            @Value("${history.retention.batch-size:5000}") int batchSize) {
+        this.checkHistoryRepository = checkHistoryRepository;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${history.retention.interval-ms:3600000}", initialDelay = 60000)
+    public void purgeExpired() {
+        if (retentionDays <= 0) {
+            return;
+        }
+        OffsetDateTime cutoff = OffsetDateTime.now().minusDays(retentionDays);
+        try {
+            long purged = 0;
+            int deleted;
+            do {
+                deleted = checkHistoryRepository.deleteCheckedBefore(cutoff, batchSize);
+                purged += deleted;
+            } while (deleted == batchSize);
+            if (purged > 0) {
+                log.info("Purged {} check history rows older than {} days", purged, retentionDays);
+            }
+        } catch (Exception e) {
+            log.warn("Check history purge failed: {}", e.getMessage());
+        }
+    }
+}
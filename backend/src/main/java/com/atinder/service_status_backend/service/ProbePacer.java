@@ -0,0 +1,201 @@
+package com.atinder.service_status_backend.service;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.atinder.service_status_backend.model.MonitoredService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides which services each scheduler tick probes, and measures how far behind they are.
+ *
+ * Every service has a target interval; its lag is how long after (lastCheckedAt + interval)
+ * the next check actually starts. Each tick probes due services, most urgent first, within a
+ * time budget so one slow tick cannot push back the rest. When the estimated cost of the due
+ * checks exceeds the budget, only the checks that fit are kept and the least urgent rest is deferred.
+ * Deferred services grow more overdue and move up; one a full interval late is escalated, so nothing starves.
+ *
+ * Per-service lag of the latest check is kept in memory and served as ServiceDTO.lagMs.
+ * Metrics (/actuator/metrics in local/loadtest profiles): health_check.lag (p50/p95/p99), health_check.missed_deadlines,
+ * health_check.deferred, health_check.sweep, health_check.max_lag_ms, health_check.overloaded.
+ */
+@Slf4j
+@Component
+public class ProbePacer {
+
+    private final Duration interval;
+    private final Duration deadlineGrace;
+    private final long sweepBudgetNanos;
+
+    private final Timer lagTimer;
+    private final Timer sweepTimer;
+    private final Counter missedDeadlines;
+    private final Counter deferred;
+    private final AtomicLong maxLagMs = new AtomicLong();
+    private final AtomicInteger overloaded = new AtomicInteger();
+    // Services currently counted in health_check.deferred, so a service is counted once until it is probed
+    private final Set<Long> deferredIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Long> lastLagMs = new ConcurrentHashMap<>();
+    // Late checks in the current tick, summarized once by recordSweep()
+    private final AtomicInteger lateThisTick = new AtomicInteger();
+    private final AtomicLong worstLateMsThisTick = new AtomicLong();
+
+    // Exponentially weighted average of a single check's cost; negative until the first check is measured
+    private volatile double averageCheckMs = -1;
+
+    public ProbePacer(
+            MeterRegistry meterRegistry,
+            @Value("${health-check.interval-ms:30000}") long intervalMs,
+            @Value("${health-check.tick-ms:5000}") long tickMs,
+            @Value("${health-check.sweep-budget-ms:25000}") long sweepBudgetMs) {
+        this.interval = Duration.ofMillis(intervalMs);
+        this.deadlineGrace = Duration.ofMillis(tickMs); // Ticks quantize start times: up to one tick late is on time
+        this.sweepBudgetNanos = TimeUnit.MILLISECONDS.toNanos(sweepBudgetMs);
+
+        this.lagTimer = Timer.builder("health_check.lag")
+            .description("Delay between a service's due time and the start of its check")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.sweepTimer = Timer.builder("health_check.sweep")
+            .description("Duration of one scheduler tick")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.missedDeadlines = Counter.builder("health_check.missed_deadlines")
+            .description("Checks that started more than one tick after they were due")
+            .register(meterRegistry);
+        this.deferred = Counter.builder("health_check.deferred")
+            .description("Due checks postponed to a later tick (shed under overload or out of budget), once per service")
+            .register(meterRegistry);
+        Gauge.builder("health_check.max_lag_ms", maxLagMs, AtomicLong::get)
+            .description("Largest current lag across all services")
+            .register(meterRegistry);
+        Gauge.builder("health_check.overloaded", overloaded, AtomicInteger::get)
+            .description("1 when the last tick had more due work than its budget")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Due services in probe order: non-operational or deadline-missed first, then most overdue.
+     * When the due set cannot fit in the sweep budget, keeps as many as fit and defers the rest.
+     */
+    public List<MonitoredService> plan(Iterable<MonitoredService> services, OffsetDateTime now) {
+        List<MonitoredService> due = new ArrayList<>();
+        long worstLagMs = 0;
+        for (MonitoredService service : services) {
+            long lag = lagMillis(service, now);
+            worstLagMs = Math.max(worstLagMs, lag);
+            if (lag >= 0) {
+                due.add(service);
+            }
+        }
+        maxLagMs.set(worstLagMs);
+        due.sort(Comparator.comparing((MonitoredService service) -> !isHighPriority(service, now))
+            .thenComparing(service -> -lagMillis(service, now)));
+
+        // No estimate yet (e.g. right after a restart): probe everything, withinBudget() still caps the tick
+        long budgetMs = TimeUnit.NANOSECONDS.toMillis(sweepBudgetNanos);
+        int capacity = averageCheckMs < 0
+            ? due.size()
+            : (int) Math.min(due.size(), Math.max(1, budgetMs / averageCheckMs));
+        overloaded.set(capacity < due.size() ? 1 : 0);
+        if (capacity == due.size()) {
+            return due;
+        }
+
+        List<MonitoredService> shed = due.subList(capacity, due.size());
+        log.warn("Probe loop overloaded: {} due checks, about {} fit the {} ms budget, deferring {}",
+            due.size(), capacity, budgetMs, shed.size());
+        countDeferred(shed);
+        return List.copyOf(due.subList(0, capacity));
+    }
+
+    public boolean withinBudget(long sweepStartNanos) {
+        return System.nanoTime() - sweepStartNanos < sweepBudgetNanos;
+    }
+
+    /**
+     * Call just before probing, while lastCheckedAt still holds the previous check time.
+     */
+    public void recordCheckStart(MonitoredService service, OffsetDateTime startedAt) {
+        if (service.getId() != null) {
+            deferredIds.remove(service.getId());
+        }
+        if (service.getLastCheckedAt() == null) {
+            return; // Never checked: no deadline to measure against
+        }
+        long lag = Math.max(0, lagMillis(service, startedAt));
+        lagTimer.record(lag, TimeUnit.MILLISECONDS);
+        if (service.getId() != null) {
+            lastLagMs.put(service.getId(), lag);
+        }
+        if (lag > deadlineGrace.toMillis()) {
+            missedDeadlines.increment();
+            lateThisTick.incrementAndGet();
+            worstLateMsThisTick.accumulateAndGet(lag, Math::max);
+            log.debug("Health check for {} started {} ms after its deadline", service.getName(), lag);
+        }
+    }
+
+    /**
+     * How late the latest check of this service started (0 = on time), or null if not measured since startup.
+     */
+    public Long lastLagMillis(Long serviceId) {
+        return serviceId == null ? null : lastLagMs.get(serviceId);
+    }
+
+    public void recordCheckCost(long durationNanos) {
+        long checkMs = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        averageCheckMs = averageCheckMs < 0 ? checkMs : 0.8 * averageCheckMs + 0.2 * checkMs;
+    }
+
+    public void recordSweep(List<MonitoredService> postponed, long durationNanos) {
+        int late = lateThisTick.getAndSet(0);
+        long worstLateMs = worstLateMsThisTick.getAndSet(0);
+        if (late > 0) {
+            log.warn("{} health checks started after their deadline this tick (worst {} ms late)", late, worstLateMs);
+        }
+        if (!postponed.isEmpty()) {
+            countDeferred(postponed);
+            log.warn("Sweep budget exhausted, {} due checks postponed to the next tick", postponed.size());
+        }
+        sweepTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void countDeferred(List<MonitoredService> services) {
+        long newlyDeferred = services.stream()
+            .filter(service -> service.getId() == null || deferredIds.add(service.getId()))
+            .count();
+        deferred.increment(newlyDeferred);
+    }
+
+    /**
+     * Milliseconds past the service's due time; negative when not yet due. Never-checked services are due now.
+     */
+    long lagMillis(MonitoredService service, OffsetDateTime now) {
+        if (service.getLastCheckedAt() == null) {
+            return 0;
+        }
+        return Duration.between(service.getLastCheckedAt().plus(interval), now).toMillis();
+    }
+
+    private boolean isHighPriority(MonitoredService service, OffsetDateTime now) {
+        return !"Operational".equals(service.getCurrentStatus()) || lagMillis(service, now) >= interval.toMillis();
+    }
+}
@@ -0,0 +1,49 @@
+package com.atinder.service_status_backend.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import com.atinder.service_status_backend.model.AlertOutboxEntry;
+
+/**
+ * Sends one plain-text email per batch.
+ * Enabled by setting alerts.smtp.to (SMTP server itself comes from spring.mail.*).
+ */
+@Component
+@ConditionalOnProperty(prefix = "alerts.smtp", name = "to")
+public class SmtpAlertSink implements AlertSink {
+
+    private final JavaMailSender mailSender;
+    private final String from;
+    private final String[] to;
+
+    public SmtpAlertSink(
+            JavaMailSender mailSender,
+            @Value("${alerts.smtp.from:service-status@localhost}") String from,
+            @Value("${alerts.smtp.to}") String[] to) {
+        this.mailSender = mailSender;
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public String name() {
+        return "smtp";
+    }
+
+    @Override
+    public void send(List<AlertOutboxEntry> batch) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(from);
+        message.setTo(to);
+        message.setSubject("[Service Status] " + AlertSink.subject(batch));
+        message.setText(String.join("\n", batch.stream().map(AlertSink::describe).toList()));
+
+        mailSender.send(message);
+    }
+}
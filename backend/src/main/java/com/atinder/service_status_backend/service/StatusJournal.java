@@ -0,0 +1,268 @@
+package com.atinder.service_status_backend.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.atinder.service_status_backend.model.MonitoredService;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Memory-mapped journal of the latest probe result per service.
+ * Lets the backend serve correct statuses immediately after a restart,
+ * before the first sweep or any DB round-trip.
+ *
+ * Layout: 16-byte header followed by fixed 64-byte slots, one per service.
+ * Each slot carries a CRC32 so torn writes from a crash are skipped on restore.
+ * Pages are flushed by the OS, so state survives a process crash (not a power loss).
+ */
+@Slf4j
+@Component
+public class StatusJournal {
+
+    private static final int MAGIC = 0x53544A31; // "STJ1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 64;
+    private static final int MAX_STATUS_BYTES = 39;
+    private static final int CRC_OFFSET = SLOT_SIZE - Integer.BYTES;
+
+    public record JournalEntry(long serviceId, String status, OffsetDateTime lastCheckedAt) {}
+
+    private final Path path;
+    private final int capacity;
+    private final boolean enabled;
+
+    private final Map<Long, JournalEntry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private MappedByteBuffer buffer;
+    private int nextFreeSlot;
+    private boolean fullWarningLogged;
+
+    public StatusJournal(
+            @Value("${status.journal.path:data/status.journal}") String path,
+            @Value("${status.journal.capacity:4096}") int capacity,
+            @Value("${status.journal.enabled:true}") boolean enabled) {
+        this.path = Path.of(path);
+        this.capacity = capacity;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public synchronized void open() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // The mapping stays valid after the channel is closed
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * SLOT_SIZE);
+            }
+            if (headerMatches()) {
+                restore();
+            } else {
+                initialize();
+            }
+            log.info("Status journal opened at {} with {} restored entries", path, entries.size());
+        } catch (IOException e) {
+            // Journal is an optimization: run without it rather than failing startup
+            buffer = null;
+            log.warn("Status journal disabled, could not open {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Latest journaled state for one service, or null if none. No copying: safe on the request path.
+     */
+    public JournalEntry find(Long serviceId) {
+        return serviceId == null ? null : entries.get(serviceId);
+    }
+
+    /**
+     * Copy of all journaled state per service id, as restored at startup and updated by each probe.
+     */
+    public Map<Long, JournalEntry> snapshot() {
+        return Map.copyOf(entries);
+    }
+
+    public synchronized void record(MonitoredService service) {
+        if (service.getId() == null || service.getLastCheckedAt() == null) {
+            return;
+        }
+        JournalEntry entry = new JournalEntry(service.getId(), service.getCurrentStatus(), service.getLastCheckedAt());
+        entries.put(entry.serviceId(), entry);
+        if (buffer == null) {
+            return;
+        }
+
+        Integer slot = slots.get(entry.serviceId());
+        if (slot == null) {
+            if (nextFreeSlot >= capacity) {
+                if (!fullWarningLogged) {
+                    log.warn("Status journal full ({} slots), new services will not be journaled", capacity);
+                    fullWarningLogged = true;
+                }
+                return;
+            }
+            slot = nextFreeSlot++;
+            slots.put(entry.serviceId(), slot);
+        }
+        writeSlot(slot, entry);
+    }
+
+    /**
+     * Drops entries for services that no longer exist in the database.
+     */
+    public synchronized void retainOnly(Iterable<Long> serviceIds) {
+        Map<Long, Boolean> keep = new HashMap<>();
+        serviceIds.forEach(id -> keep.put(id, Boolean.TRUE));
+        entries.keySet().removeIf(id -> !keep.containsKey(id));
+        if (buffer == null) {
+            return;
+        }
+        slots.entrySet().removeIf(e -> {
+            if (keep.containsKey(e.getKey())) {
+                return false;
+            }
+            clearSlot(e.getValue());
+            return true;
+        });
+        compactSlots();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (buffer != null) {
+            buffer.force();
+            buffer = null;
+        }
+    }
+
+    private boolean headerMatches() {
+        return buffer.getInt(0) == MAGIC
+            && buffer.getInt(4) == VERSION
+            && buffer.getInt(8) == SLOT_SIZE
+            && buffer.getInt(12) == capacity;
+    }
+
+    private void initialize() {
+        for (int i = 0; i < capacity; i++) {
+            clearSlot(i);
+        }
+        buffer.putInt(0, MAGIC);
+        buffer.putInt(4, VERSION);
+        buffer.putInt(8, SLOT_SIZE);
+        buffer.putInt(12, capacity);
+        nextFreeSlot = 0;
+    }
+
+    private void restore() {
+        int skipped = 0;
+        for (int i = 0; i < capacity; i++) {
+            int offset = slotOffset(i);
+            long serviceId = buffer.getLong(offset);
+            if (serviceId == 0) {
+                continue;
+            }
+            if (buffer.getInt(offset + CRC_OFFSET) != checksum(offset)) {
+                skipped++;
+                continue;
+            }
+            long epochMillis = buffer.getLong(offset + 8);
+            int offsetSeconds = buffer.getInt(offset + 16);
+            int statusLength = Byte.toUnsignedInt(buffer.get(offset + 20));
+            byte[] status = new byte[Math.min(statusLength, MAX_STATUS_BYTES)];
+            buffer.get(offset + 21, status);
+
+            OffsetDateTime lastCheckedAt = OffsetDateTime.ofInstant(
+                Instant.ofEpochMilli(epochMillis), ZoneOffset.ofTotalSeconds(offsetSeconds));
+            entries.put(serviceId, new JournalEntry(serviceId, new String(status, StandardCharsets.UTF_8), lastCheckedAt));
+            slots.put(serviceId, i);
+        }
+        if (skipped > 0) {
+            log.warn("Skipped {} corrupt status journal slots", skipped);
+        }
+        compactSlots();
+    }
+
+    /**
+     * Moves live slots to the front so new services always append at {@code nextFreeSlot}.
+     */
+    private void compactSlots() {
+        int target = 0;
+        Map<Long, Integer> moved = new HashMap<>();
+        for (int i = 0; i < capacity; i++) {
+            long serviceId = buffer.getLong(slotOffset(i));
+            if (serviceId == 0) {
+                continue;
+            }
+            Integer current = slots.get(serviceId);
+            if (current == null || current != i) {
+                // Corrupt or duplicate slot
+                clearSlot(i);
+                continue;
+            }
+            if (i != target) {
+                writeSlot(target, entries.get(serviceId));
+                clearSlot(i);
+            }
+            moved.put(serviceId, target++);
+        }
+        slots.clear();
+        slots.putAll(moved);
+        nextFreeSlot = target;
+    }
+
+    private void writeSlot(int slot, JournalEntry entry) {
+        int offset = slotOffset(slot);
+        byte[] status = entry.status() == null ? new byte[0] : entry.status().getBytes(StandardCharsets.UTF_8);
+        int statusLength = Math.min(status.length, MAX_STATUS_BYTES);
+
+        // Invalidate the checksum first so a crash mid-write is never read back as valid
+        buffer.putInt(offset + CRC_OFFSET, ~buffer.getInt(offset + CRC_OFFSET));
+        buffer.putLong(offset, entry.serviceId());
+        buffer.putLong(offset + 8, entry.lastCheckedAt().toInstant().toEpochMilli());
+        buffer.putInt(offset + 16, entry.lastCheckedAt().getOffset().getTotalSeconds());
+        buffer.put(offset + 20, (byte) statusLength);
+        buffer.put(offset + 21, new byte[MAX_STATUS_BYTES]);
+        buffer.put(offset + 21, status, 0, statusLength);
+        buffer.putInt(offset + CRC_OFFSET, checksum(offset));
+    }
+
+    private void clearSlot(int slot) {
+        buffer.put(slotOffset(slot), new byte[SLOT_SIZE]);
+    }
+
+    private int checksum(int offset) {
+        CRC32 crc = new CRC32();
+        ByteBuffer slot = buffer.slice(offset, CRC_OFFSET);
+        crc.update(slot);
+        return (int) crc.getValue();
+    }
+
+    private static int slotOffset(int slot) {
+        return HEADER_SIZE + slot * SLOT_SIZE;
+    }
+}
@@ -0,0 +1,63 @@
+package com.atinder.service_status_backend.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.atinder.service_status_backend.model.AlertOutboxEntry;
+
+/**
+ * Posts one JSON document per batch to a webhook (Slack-compatible "text" field).
+ * Enabled by setting alerts.webhook.url.
+ */
+@Component
+@ConditionalOnProperty(prefix = "alerts.webhook", name = "url")
+public class WebhookAlertSink implements AlertSink {
+
+    private final WebClient webClient;
+    private final String url;
+    private final Duration timeout;
+
+    public WebhookAlertSink(
+            @Value("${alerts.webhook.url}") String url,
+            @Value("${alerts.webhook.timeout-ms:10000}") long timeoutMs) {
+        this.webClient = WebClient.builder().build();
+        this.url = url;
+        this.timeout = Duration.ofMillis(timeoutMs);
+    }
+
+    @Override
+    public String name() {
+        return "webhook";
+    }
+
+    @Override
+    public void send(List<AlertOutboxEntry> batch) {
+        String text = AlertSink.subject(batch) + "\n" + String.join("\n", batch.stream().map(AlertSink::describe).toList());
+        List<Map<String, Object>> changes = batch.stream()
+            .map(entry -> Map.<String, Object>of(
+                "serviceId", entry.getServiceId(),
+                "service", entry.getServiceName(),
+                "previousStatus", String.valueOf(entry.getPreviousStatus()),
+                "currentStatus", entry.getCurrentStatus(),
+                "transitions", entry.getTransitions(),
+                "changedAt", entry.getChangedAt().toString()))
+            .toList();
+
+        // Runs on the alert delivery pool, never on the probe thread
+        webClient.post()
+            .uri(url)
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(Map.of("text", text, "changes", changes))
+            .retrieve()
+            .toBodilessEntity()
+            .timeout(timeout)
+            .block();
+    }
+}
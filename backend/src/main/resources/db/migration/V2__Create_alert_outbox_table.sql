@@ -0,0 +1,21 @@
+-- Alert outbox: durable queue of status-change notifications, one row per sink
+-- Rows are claimed in batches by the alert dispatcher and retried with backoff
+
+CREATE TABLE IF NOT EXISTS alert_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    sink VARCHAR(50) NOT NULL,
+    service_id BIGINT NOT NULL,
+    service_name VARCHAR(255) NOT NULL,
+    previous_status VARCHAR(50),
+    current_status VARCHAR(50) NOT NULL,
+    transitions INT NOT NULL DEFAULT 1,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT NOW(),
+    last_error VARCHAR(1000),
+    delivered_at TIMESTAMP WITH TIME ZONE,
+    created_at TIMESTAMP WITH TIME ZONE DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_alert_outbox_due ON alert_outbox(sink, next_attempt_at) WHERE status = 'PENDING';
@@ -0,0 +1,12 @@
+-- Check history: one row per probe, used for audits and exports
+-- Exports scan by service and time range, hence the composite index
+
+CREATE TABLE IF NOT EXISTS check_history (
+    id BIGSERIAL PRIMARY KEY,
+    service_id BIGINT NOT NULL REFERENCES services(id) ON DELETE CASCADE,
+    status VARCHAR(50) NOT NULL,
+    response_time_ms INT,
+    checked_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_check_history_service_checked_at ON check_history(service_id, checked_at);
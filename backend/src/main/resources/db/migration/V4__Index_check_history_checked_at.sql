@@ -0,0 +1,3 @@
+-- Retention deletes by age across all services, which the (service_id, checked_at) index cannot serve
+
+CREATE INDEX IF NOT EXISTS idx_check_history_checked_at ON check_history(checked_at);
@@ -2,6 +2,12 @@ package com.atinder.service_status_backend.controller;
 
 import com.atinder.service_status_backend.model.MonitoredService;
 import com.atinder.service_status_backend.repository.ServiceRepository;
+import com.atinder.service_status_backend.service.HistoryExportService;
+import com.atinder.service_status_backend.service.ProbePacer;
+import com.atinder.service_status_backend.service.StatusJournal;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,13 +18,26 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.zip.GZIPInputStream;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -36,12 +55,43 @@ class ServiceControllerTest {
     @Autowired
     private ServiceRepository serviceRepository;
 
+    @Autowired
+    private StatusJournal statusJournal;
+
+    @Autowired
+    private HistoryExportService historyExportService;
+
+    @Autowired
+    private ProbePacer probePacer;
+
+    @BeforeEach
+    void setUp() {
+        // Mocks are shared context beans: clear stubs left by other tests
+        Mockito.reset(statusJournal, historyExportService, probePacer);
+        when(historyExportService.tryAcquireSlot()).thenReturn(true);
+    }
+
     @TestConfiguration
     static class TestConfig {
         @Bean
         public ServiceRepository serviceRepository() {
             return Mockito.mock(ServiceRepository.class);
         }
+
+        @Bean
+        public StatusJournal statusJournal() {
+            return Mockito.mock(StatusJournal.class);
+        }
+
+        @Bean
+        public HistoryExportService historyExportService() {
+            return Mockito.mock(HistoryExportService.class);
+        }
+
+        @Bean
+        public ProbePacer probePacer() {
+            return Mockito.mock(ProbePacer.class);
+        }
     }
 
     @Test
@@ -164,4 +214,191 @@ class ServiceControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].status", is("Down")));
     }
+
+    @Test
+    void testGetServiceById_IncludesLastCheckLag() throws Exception {
+        // Given: The latest check of service 1 started 1.5s after its deadline
+        MonitoredService service = new MonitoredService("GitHub", "https://github.com", "HTTP", "Operational");
+        service.setId(1L);
+        when(serviceRepository.findById(1L)).thenReturn(Optional.of(service));
+        when(probePacer.lastLagMillis(1L)).thenReturn(1500L);
+
+        // When & Then: Lag is part of the service
+        mockMvc.perform(get("/api/services/1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lagMs", is(1500)));
+    }
+
+    @Test
+    void testGetAllServices_PrefersNewerJournalState() throws Exception {
+        // Given: DB row is older than the journaled probe result (e.g. right after a restart)
+        OffsetDateTime now = OffsetDateTime.now();
+        MonitoredService service = new MonitoredService("GitHub", "https://github.com", "HTTP", "Operational");
+        service.setId(1L);
+        service.setLastCheckedAt(now.minusMinutes(5));
+
+        when(serviceRepository.findAll()).thenReturn(Arrays.asList(service));
+        when(statusJournal.find(1L)).thenReturn(new StatusJournal.JournalEntry(1L, "Down", now));
+
+        // When & Then: Journaled status is served
+        mockMvc.perform(get("/api/services"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].checks[0].currentStatus", is("Down")))
+                .andExpect(jsonPath("$[0].status", is("Down")));
+    }
+
+    @Test
+    void testGetAllServices_NegotiatesCompactCbor() throws Exception {
+        // Given: Services in repository
+        OffsetDateTime checkedAt = OffsetDateTime.parse("2025-10-27T22:00:00Z");
+        MonitoredService service1 = new MonitoredService("GitHub", "https://github.com", "HTTP", "Operational");
+        service1.setId(1L);
+        service1.setLastCheckedAt(checkedAt);
+        MonitoredService service2 = new MonitoredService("Google", "https://google.com", "HTTP", "Down");
+        service2.setId(2L);
+
+        when(serviceRepository.findAll()).thenReturn(Arrays.asList(service1, service2));
+
+        // When: Client asks for CBOR
+        byte[] body = mockMvc.perform(get("/api/services").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then: Positional arrays with status codes and epoch-millis timestamps
+        JsonNode group = new CBORMapper().readTree(body).get(0);
+        assertThat(group.get(0).asText()).isEqualTo("All Services");
+        assertThat(group.get(1).asInt()).isEqualTo(3); // Down
+        JsonNode github = group.get(2).get(0);
+        assertThat(github.get(0).asLong()).isEqualTo(1L);
+        assertThat(github.get(1).asText()).isEqualTo("GitHub");
+        assertThat(github.get(4).asInt()).isEqualTo(0); // Operational
+        assertThat(github.get(5).asLong()).isEqualTo(checkedAt.toInstant().toEpochMilli());
+        assertThat(group.get(2).get(1).get(5).isNull()).isTrue();
+    }
+
+    private void stubExport(String content) throws Exception {
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(4);
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            return null;
+        }).when(historyExportService).export(eq(1L), any(), any(), any(), any(OutputStream.class));
+    }
+
+    @Test
+    void testExportHistory_StreamsCsv() throws Exception {
+        // Given: Service exists with history
+        when(serviceRepository.existsById(1L)).thenReturn(true);
+        stubExport("service_id,checked_at,status,response_time_ms\n1,2025-10-27T22:00Z,Operational,42\n");
+
+        // When: Export is requested
+        var result = mockMvc.perform(get("/api/services/1/history/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then: CSV attachment, uncompressed
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString("service-1-history.csv")))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string(containsString("1,2025-10-27T22:00Z,Operational,42")));
+        verify(historyExportService).releaseSlot();
+    }
+
+    @Test
+    void testExportHistory_GzipWhenAccepted() throws Exception {
+        // Given: Client accepts gzip and asks for NDJSON
+        when(serviceRepository.existsById(1L)).thenReturn(true);
+        stubExport("{\"serviceId\":1,\"status\":\"Down\"}\n");
+
+        // When: Export is requested
+        var result = mockMvc.perform(get("/api/services/1/history/export")
+                .param("format", "ndjson")
+                .header("Accept-Encoding", "gzip, deflate"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then: Gzip-encoded NDJSON
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).contains("\"status\":\"Down\"");
+        }
+    }
+
+    @Test
+    void testExportHistory_GzipRefusedWithZeroQuality() throws Exception {
+        // Given: Client lists gzip but with q=0
+        when(serviceRepository.existsById(1L)).thenReturn(true);
+        stubExport("service_id,checked_at,status,response_time_ms\n");
+
+        // When: Export is requested
+        var result = mockMvc.perform(get("/api/services/1/history/export")
+                .header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then: Plain body, no Content-Encoding
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().string(containsString("service_id")));
+    }
+
+    @Test
+    void testExportHistory_ReleasesSlotWhenExportFails() throws Exception {
+        // Given: Export breaks mid-stream (e.g. DB error) while gzip is on
+        when(serviceRepository.existsById(1L)).thenReturn(true);
+        doThrow(new IOException("connection reset"))
+            .when(historyExportService).export(eq(1L), any(), any(), any(), any(OutputStream.class));
+
+        // When: Export is requested
+        var result = mockMvc.perform(get("/api/services/1/history/export")
+                .header("Accept-Encoding", "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        // Then: The slot is returned
+        verify(historyExportService).releaseSlot();
+    }
+
+    @Test
+    void testExportHistory_Returns503WhenAllSlotsBusy() throws Exception {
+        // Given: Concurrent export limit reached
+        when(serviceRepository.existsById(1L)).thenReturn(true);
+        when(historyExportService.tryAcquireSlot()).thenReturn(false);
+
+        // When & Then: Rejected before streaming starts
+        mockMvc.perform(get("/api/services/1/history/export"))
+                .andExpect(status().isServiceUnavailable());
+        verify(historyExportService, never()).export(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void testExportHistory_UnknownServiceReturns404() throws Exception {
+        when(serviceRepository.existsById(anyLong())).thenReturn(false);
+
+        mockMvc.perform(get("/api/services/999/history/export"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message", containsString("not found")));
+    }
+
+    @Test
+    void testExportHistory_RejectsBadFormatAndRange() throws Exception {
+        when(serviceRepository.existsById(1L)).thenReturn(true);
+
+        mockMvc.perform(get("/api/services/1/history/export").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/services/1/history/export")
+                .param("from", "2025-10-28T00:00:00Z")
+                .param("to", "2025-10-27T00:00:00Z"))
+                .andExpect(status().isBadRequest());
+    }
 }
@@ -0,0 +1,81 @@
+package com.atinder.service_status_backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Payload size and encode/decode time of the compact CBOR form vs the current JSON.
+ * Prints a small report; only the size reduction is asserted (timings vary per machine).
+ * Excluded from the default build; run with: ./mvnw test -Dgroups=benchmark -Dtest.excludedGroups=
+ */
+@Tag("benchmark")
+class CompactEncodingBenchmarkTest {
+
+    private static final int SERVICES = 5_000;
+    private static final int ITERATIONS = 50;
+
+    // Mirrors Spring Boot's JSON defaults (ISO-8601 dates)
+    private final ObjectMapper jsonMapper = new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final CBORMapper cborMapper = new CBORMapper();
+
+    private List<ServiceGroupDTO> fleet() {
+        OffsetDateTime now = OffsetDateTime.now();
+        String[] statuses = {"Operational", "Operational", "Operational", "Degraded", "Down"};
+        List<ServiceDTO> checks = IntStream.range(0, SERVICES)
+            .mapToObj(i -> new ServiceDTO((long) i, "service-" + i, "https://service-" + i + ".example.com/health",
+                "HTTP", statuses[i % statuses.length], now.minusSeconds(i % 30), null))
+            .toList();
+        return List.of(new ServiceGroupDTO("All Services", checks, "Down"));
+    }
+
+    @Test
+    void benchmarkPayloadSizeAndCodecTime() throws Exception {
+        List<ServiceGroupDTO> groups = fleet();
+        List<CompactServiceGroupDTO> compact = groups.stream().map(CompactServiceGroupDTO::from).toList();
+
+        byte[] json = jsonMapper.writeValueAsBytes(groups);
+        byte[] cbor = cborMapper.writeValueAsBytes(compact);
+
+        // Warm up both codecs before timing
+        for (int i = 0; i < ITERATIONS; i++) {
+            jsonMapper.readTree(jsonMapper.writeValueAsBytes(groups));
+            cborMapper.readTree(cborMapper.writeValueAsBytes(compact));
+        }
+
+        long jsonEncode = time(() -> jsonMapper.writeValueAsBytes(groups));
+        long cborEncode = time(() -> cborMapper.writeValueAsBytes(compact));
+        long jsonDecode = time(() -> jsonMapper.readTree(json));
+        long cborDecode = time(() -> cborMapper.readTree(cbor));
+
+        System.out.printf("%n%d services          JSON        CBOR%n", SERVICES);
+        System.out.printf("payload bytes   %10d  %10d  (%.0f%%)%n", json.length, cbor.length, 100.0 * cbor.length / json.length);
+        System.out.printf("encode us/op    %10d  %10d%n", jsonEncode, cborEncode);
+        System.out.printf("decode us/op    %10d  %10d%n", jsonDecode, cborDecode);
+
+        assertThat(cbor.length).isLessThan(json.length * 6 / 10);
+    }
+
+    private interface Codec {
+        Object run() throws Exception;
+    }
+
+    private long time(Codec codec) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            codec.run();
+        }
+        return (System.nanoTime() - start) / ITERATIONS / 1_000;
+    }
+}
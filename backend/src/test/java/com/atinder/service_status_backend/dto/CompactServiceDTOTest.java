@@ -0,0 +1,45 @@
+package com.atinder.service_status_backend.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactServiceDTOTest {
+
+    @Test
+    void testStatusCode_UnknownStatusMapsToUnknown() {
+        // Given & When & Then: Known statuses keep their wire position, anything else is "Unknown"
+        assertThat(CompactServiceDTO.statusCode("Operational")).isEqualTo(0);
+        assertThat(CompactServiceDTO.statusCode("Down")).isEqualTo(3);
+        assertThat(CompactServiceDTO.statusCode("Exploded")).isEqualTo(CompactServiceDTO.STATUS_CODES.indexOf("Unknown"));
+    }
+
+    @Test
+    void testCompactCbor_IsMuchSmallerThanJson() throws Exception {
+        // Given: A small fleet in the regular JSON shape
+        OffsetDateTime now = OffsetDateTime.now();
+        List<ServiceDTO> checks = IntStream.range(0, 50)
+            .mapToObj(i -> new ServiceDTO((long) i, "service-" + i, "https://service-" + i + ".example.com/health",
+                "HTTP", "Operational", now, null))
+            .toList();
+        List<ServiceGroupDTO> groups = List.of(new ServiceGroupDTO("All Services", checks, "Operational"));
+        ObjectMapper jsonMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        // When: Encoded as JSON and as compact CBOR
+        byte[] json = jsonMapper.writeValueAsBytes(groups);
+        byte[] cbor = new CBORMapper().writeValueAsBytes(groups.stream().map(CompactServiceGroupDTO::from).toList());
+
+        // Then: The compact form drops field names and ISO dates
+        assertThat(cbor.length).isLessThan(json.length * 6 / 10);
+    }
+}
@@ -0,0 +1,46 @@
+package com.atinder.service_status_backend.loadtest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LatencyRecorder percentile math
+ */
+class LatencyRecorderTest {
+
+    @Test
+    void testPercentile_NearestRank() {
+        // Given: Samples 1..100 recorded out of order
+        LatencyRecorder recorder = new LatencyRecorder();
+        IntStream.rangeClosed(1, 100).map(i -> 101 - i).forEach(recorder::record);
+
+        // Then: Nearest-rank percentiles
+        assertThat(recorder.count()).isEqualTo(100);
+        assertThat(recorder.percentile(50)).isEqualTo(50);
+        assertThat(recorder.percentile(95)).isEqualTo(95);
+        assertThat(recorder.percentile(99)).isEqualTo(99);
+        assertThat(recorder.percentile(100)).isEqualTo(100);
+    }
+
+    @Test
+    void testPercentile_GrowsBeyondInitialCapacity() {
+        // Given: More samples than the initial buffer
+        LatencyRecorder recorder = new LatencyRecorder();
+        IntStream.range(0, 5000).forEach(i -> recorder.record(7));
+
+        // Then: All samples kept
+        assertThat(recorder.count()).isEqualTo(5000);
+        assertThat(recorder.percentile(99)).isEqualTo(7);
+    }
+
+    @Test
+    void testPercentile_EmptyIsZero() {
+        LatencyRecorder recorder = new LatencyRecorder();
+
+        assertThat(recorder.percentile(50)).isZero();
+        assertThat(recorder.summary()).startsWith("n=0");
+    }
+}
@@ -0,0 +1,243 @@
+package com.atinder.service_status_backend.service;
+
+import com.atinder.service_status_backend.model.AlertOutboxEntry;
+import com.atinder.service_status_backend.model.MonitoredService;
+import com.atinder.service_status_backend.repository.AlertOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AlertService
+ * Drives the pipeline stages directly (no dispatcher threads, no database)
+ */
+@ExtendWith(MockitoExtension.class)
+class AlertServiceTest {
+
+    @Mock
+    private AlertOutboxRepository outboxRepository;
+
+    @Mock
+    private ObjectProvider<AlertSink> sinkProvider;
+
+    @Mock
+    private AlertSink sink;
+
+    private AlertService alertService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(sink.name()).thenReturn("test");
+        when(sinkProvider.orderedStream()).thenReturn(Stream.of(sink));
+        alertService = new AlertService(outboxRepository, sinkProvider, 10000, 100, 3, 1000, 5000, 2, 60000, 30);
+    }
+
+    private MonitoredService serviceWithStatus(long id, String status) {
+        MonitoredService service = new MonitoredService("Service " + id, "https://example.com/" + id, "HTTP", status);
+        service.setId(id);
+        service.setLastCheckedAt(OffsetDateTime.now());
+        return service;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AlertOutboxEntry> flushedEntries() {
+        ArgumentCaptor<Iterable<AlertOutboxEntry>> captor = ArgumentCaptor.forClass(Iterable.class);
+        verify(outboxRepository).saveAll(captor.capture());
+        List<AlertOutboxEntry> entries = new ArrayList<>();
+        captor.getValue().forEach(entries::add);
+        return entries;
+    }
+
+    @Test
+    void testPublish_CoalescesFlappingIntoOneEntry() {
+        // Given: A service flapping Operational -> Down -> Operational -> Down
+        MonitoredService service = serviceWithStatus(1L, "Down");
+        alertService.publish(service, "Operational");
+        service.setCurrentStatus("Operational");
+        alertService.publish(service, "Down");
+        service.setCurrentStatus("Down");
+        alertService.publish(service, "Operational");
+
+        // When: The coalesce window closes
+        alertService.flushPending();
+
+        // Then: One outbox row spanning the whole window
+        List<AlertOutboxEntry> entries = flushedEntries();
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getPreviousStatus()).isEqualTo("Operational");
+        assertThat(entries.get(0).getCurrentStatus()).isEqualTo("Down");
+        assertThat(entries.get(0).getTransitions()).isEqualTo(3);
+        assertThat(entries.get(0).getStatus()).isEqualTo(AlertOutboxEntry.PENDING);
+    }
+
+    @Test
+    void testPublish_IgnoresFirstCheckAndUnchangedStatus() {
+        // Given: Initial Unknown -> Operational, and a status that did not change
+        alertService.publish(serviceWithStatus(1L, "Operational"), "Unknown");
+        alertService.publish(serviceWithStatus(2L, "Operational"), "Operational");
+
+        // Then: Nothing is queued
+        assertThat(alertService.pendingCount()).isZero();
+        alertService.flushPending();
+        verify(outboxRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void testPublish_ShedsWhenBacklogFull() {
+        // Given: Backlog limit of 2 services
+        alertService.publish(serviceWithStatus(1L, "Down"), "Operational");
+        alertService.publish(serviceWithStatus(2L, "Down"), "Operational");
+
+        // When: A third service changes
+        alertService.publish(serviceWithStatus(3L, "Down"), "Operational");
+
+        // Then: It is dropped without blocking, existing entries still coalesce
+        assertThat(alertService.pendingCount()).isEqualTo(2);
+        alertService.publish(serviceWithStatus(1L, "Operational"), "Down");
+        assertThat(alertService.pendingCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testFlushPending_RestoresChangesWhenOutboxInsertFails() {
+        // Given: A pending change and an outbox that is unreachable
+        MonitoredService service = serviceWithStatus(1L, "Down");
+        alertService.publish(service, "Operational");
+        when(outboxRepository.saveAll(anyList())).thenThrow(new RuntimeException("connection refused"));
+
+        // When: The flush fails, then the service changes again before the next flush
+        try {
+            alertService.flushPending();
+        } catch (RuntimeException expected) {
+            // dispatch() logs and retries on the next window
+        }
+        service.setCurrentStatus("Operational");
+        alertService.publish(service, "Down");
+
+        // Then: Nothing is lost; both transitions are still pending as one coalesced change
+        assertThat(alertService.pendingCount()).isEqualTo(1);
+        reset(outboxRepository);
+        alertService.flushPending();
+        List<AlertOutboxEntry> entries = flushedEntries();
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getPreviousStatus()).isEqualTo("Operational");
+        assertThat(entries.get(0).getCurrentStatus()).isEqualTo("Operational");
+        assertThat(entries.get(0).getTransitions()).isEqualTo(2);
+    }
+
+    @Test
+    void testStop_FlushesPendingChanges() {
+        // Given: A change still inside its coalesce window
+        alertService.publish(serviceWithStatus(1L, "Down"), "Operational");
+
+        // When: The application shuts down
+        alertService.stop();
+
+        // Then: It reaches the durable outbox
+        assertThat(flushedEntries()).hasSize(1);
+        assertThat(alertService.pendingCount()).isZero();
+    }
+
+    @Test
+    void testStop_SurvivesOutboxFailure() {
+        // Given: A pending change and an unreachable outbox
+        alertService.publish(serviceWithStatus(1L, "Down"), "Operational");
+        when(outboxRepository.saveAll(anyList())).thenThrow(new RuntimeException("connection refused"));
+
+        // When & Then: Shutdown logs instead of failing
+        alertService.stop();
+        assertThat(alertService.pendingCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testDeliverSafely_LogsDatabaseErrors() throws Exception {
+        // Given: Claiming the batch fails
+        when(outboxRepository.claimDue(eq("test"), any(OffsetDateTime.class), any(OffsetDateTime.class), eq(100)))
+            .thenThrow(new RuntimeException("connection refused"));
+
+        // When & Then: The error does not escape to the delivery thread
+        alertService.deliverSafely(sink);
+        verify(sink, never()).send(anyList());
+    }
+
+    @Test
+    void testDeliverBatch_SendsOneNotificationAndMarksDelivered() throws Exception {
+        // Given: Two due entries
+        List<AlertOutboxEntry> due = List.of(
+            new AlertOutboxEntry("test", 1L, "GitHub", "Operational", "Down", 1, OffsetDateTime.now()),
+            new AlertOutboxEntry("test", 2L, "Google", "Operational", "Down", 1, OffsetDateTime.now()));
+        when(outboxRepository.claimDue(eq("test"), any(OffsetDateTime.class), any(OffsetDateTime.class), eq(100))).thenReturn(due);
+
+        // When: The sink is served
+        alertService.deliverBatch(sink);
+
+        // Then: One combined send, both rows delivered
+        verify(sink, times(1)).send(due);
+        verify(outboxRepository).saveAll(due);
+        assertThat(due).allSatisfy(entry -> {
+            assertThat(entry.getStatus()).isEqualTo(AlertOutboxEntry.DELIVERED);
+            assertThat(entry.getDeliveredAt()).isNotNull();
+        });
+    }
+
+    @Test
+    void testDeliverBatch_RetriesWithBackoffThenFails() throws Exception {
+        // Given: A sink that keeps failing
+        AlertOutboxEntry entry = new AlertOutboxEntry("test", 1L, "GitHub", "Operational", "Down", 1, OffsetDateTime.now());
+        when(outboxRepository.claimDue(eq("test"), any(OffsetDateTime.class), any(OffsetDateTime.class), eq(100))).thenReturn(List.of(entry));
+        doThrow(new RuntimeException("503 Service Unavailable")).when(sink).send(anyList());
+
+        // When: First failure
+        OffsetDateTime before = OffsetDateTime.now();
+        alertService.deliverBatch(sink);
+
+        // Then: Rescheduled after the initial backoff, still pending
+        assertThat(entry.getAttempts()).isEqualTo(1);
+        assertThat(entry.getStatus()).isEqualTo(AlertOutboxEntry.PENDING);
+        assertThat(entry.getNextAttemptAt()).isAfterOrEqualTo(before.plusSeconds(1));
+        assertThat(entry.getLastError()).contains("503");
+
+        // When: Max attempts (3) reached
+        alertService.deliverBatch(sink);
+        alertService.deliverBatch(sink);
+
+        // Then: Given up
+        assertThat(entry.getAttempts()).isEqualTo(3);
+        assertThat(entry.getStatus()).isEqualTo(AlertOutboxEntry.FAILED);
+    }
+
+    @Test
+    void testPurgeFinished_DeletesRowsOlderThanRetention() {
+        // Given: 30-day retention
+        OffsetDateTime before = OffsetDateTime.now().minusDays(30);
+
+        // When: The purge runs
+        alertService.purgeFinished();
+
+        // Then: The cutoff is now minus the retention period
+        ArgumentCaptor<OffsetDateTime> cutoff = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(outboxRepository).deleteFinishedBefore(cutoff.capture());
+        assertThat(cutoff.getValue()).isAfterOrEqualTo(before).isBefore(before.plusMinutes(1));
+    }
+
+    @Test
+    void testBackoff_DoublesUpToMax() {
+        assertThat(alertService.backoff(1)).isEqualTo(Duration.ofSeconds(1));
+        assertThat(alertService.backoff(2)).isEqualTo(Duration.ofSeconds(2));
+        assertThat(alertService.backoff(3)).isEqualTo(Duration.ofSeconds(4));
+        assertThat(alertService.backoff(10)).isEqualTo(Duration.ofSeconds(5));
+    }
+}
@@ -1,7 +1,10 @@
 package com.atinder.service_status_backend.service;
 
+import com.atinder.service_status_backend.model.CheckResult;
 import com.atinder.service_status_backend.model.MonitoredService;
+import com.atinder.service_status_backend.repository.CheckHistoryRepository;
 import com.atinder.service_status_backend.repository.ServiceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,6 +14,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.OffsetDateTime;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,11 +31,23 @@ class HealthCheckServiceTest {
     @Mock
     private ServiceRepository serviceRepository;
 
+    @Mock
+    private StatusJournal statusJournal;
+
+    @Mock
+    private AlertService alertService;
+
+    @Mock
+    private CheckHistoryRepository checkHistoryRepository;
+
+    private ProbePacer probePacer;
+
     private HealthCheckService healthCheckService;
 
     @BeforeEach
     void setUp() {
-        healthCheckService = new HealthCheckService(serviceRepository);
+        probePacer = new ProbePacer(new SimpleMeterRegistry(), 30000, 5000, 25000);
+        healthCheckService = new HealthCheckService(serviceRepository, statusJournal, alertService, checkHistoryRepository, probePacer);
     }
 
     @Test
@@ -134,4 +151,111 @@ class HealthCheckServiceTest {
         assertThat(savedService.getCurrentStatus()).isEqualTo("Down");
         assertThat(savedService.getLastCheckedAt()).isNotNull();
     }
+
+    @Test
+    void testPerformHealthCheck_RecordsJournalBeforeSave() {
+        // Given: A service to check
+        MonitoredService service = new MonitoredService("Invalid", "https://thisdomaindoesnotexist12345.invalid", "HTTP", "Unknown");
+        service.setId(1L);
+
+        when(serviceRepository.findAll()).thenReturn(Arrays.asList(service));
+        when(serviceRepository.save(any(MonitoredService.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When: Health check runs
+        healthCheckService.checkAllServices();
+
+        // Then: Journal is written before the DB
+        var inOrder = inOrder(statusJournal, serviceRepository);
+        inOrder.verify(statusJournal).record(service);
+        inOrder.verify(serviceRepository).save(service);
+    }
+
+    @Test
+    void testPerformHealthCheck_PublishesPreviousStatus() {
+        // Given: An operational service that is now unreachable
+        MonitoredService service = new MonitoredService("Invalid", "https://thisdomaindoesnotexist12345.invalid", "HTTP", "Operational");
+        service.setId(1L);
+
+        when(serviceRepository.findAll()).thenReturn(Arrays.asList(service));
+        when(serviceRepository.save(any(MonitoredService.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When: Health check runs
+        healthCheckService.checkAllServices();
+
+        // Then: The change is handed to the alert pipeline with the old status
+        verify(alertService).publish(service, "Operational");
+        assertThat(service.getCurrentStatus()).isEqualTo("Down");
+    }
+
+    @Test
+    void testPerformHealthCheck_RecordsHistory() {
+        // Given: A service to check
+        MonitoredService service = new MonitoredService("Invalid", "https://thisdomaindoesnotexist12345.invalid", "HTTP", "Unknown");
+        service.setId(7L);
+
+        when(serviceRepository.findAll()).thenReturn(Arrays.asList(service));
+        when(serviceRepository.save(any(MonitoredService.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When: Health check runs
+        healthCheckService.checkAllServices();
+
+        // Then: One history row with the probe outcome
+        ArgumentCaptor<CheckResult> captor = ArgumentCaptor.forClass(CheckResult.class);
+        verify(checkHistoryRepository).save(captor.capture());
+        CheckResult result = captor.getValue();
+        assertThat(result.getServiceId()).isEqualTo(7L);
+        assertThat(result.getStatus()).isEqualTo("Down");
+        assertThat(result.getCheckedAt()).isEqualTo(service.getLastCheckedAt());
+        assertThat(result.getResponseTimeMs()).isNotNegative();
+    }
+
+    @Test
+    void testCheckAllServices_SkipsServicesNotYetDue() {
+        // Given: One service checked just now, one never checked
+        MonitoredService fresh = new MonitoredService("Fresh", "https://thisdomaindoesnotexist12345.invalid", "HTTP", "Operational");
+        fresh.setId(1L);
+        fresh.setLastCheckedAt(OffsetDateTime.now());
+        MonitoredService unchecked = new MonitoredService("New", "https://thisdomaindoesnotexist12345.invalid", "HTTP", "Unknown");
+        unchecked.setId(2L);
+
+        when(serviceRepository.findAll()).thenReturn(Arrays.asList(fresh, unchecked));
+        when(serviceRepository.save(any(MonitoredService.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When: Scheduler ticks
+        healthCheckService.checkAllServices();
+
+        // Then: Only the due service is probed
+        verify(serviceRepository, never()).save(fresh);
+        verify(serviceRepository).save(unchecked);
+    }
+
+    @Test
+    void testReconcileJournal_UsesConditionalUpdate() {
+        // Given: One DB row older than the journal, one newer
+        OffsetDateTime now = OffsetDateTime.now();
+        MonitoredService stale = new MonitoredService("Stale", "https://example.com/1", "HTTP", "Operational");
+        stale.setId(1L);
+        stale.setLastCheckedAt(now.minusMinutes(5));
+        MonitoredService fresh = new MonitoredService("Fresh", "https://example.com/2", "HTTP", "Operational");
+        fresh.setId(2L);
+        fresh.setLastCheckedAt(now);
+        OffsetDateTime journaledAt = now.minusMinutes(1);
+
+        when(serviceRepository.findAll()).thenReturn(Arrays.asList(stale, fresh));
+        when(statusJournal.snapshot()).thenReturn(Map.of(
+            1L, new StatusJournal.JournalEntry(1L, "Down", journaledAt),
+            2L, new StatusJournal.JournalEntry(2L, "Down", journaledAt)
+        ));
+        when(serviceRepository.updateStatusIfNewer(1L, "Down", journaledAt)).thenReturn(1);
+        when(serviceRepository.updateStatusIfNewer(2L, "Down", journaledAt)).thenReturn(0);
+
+        // When: Reconciliation runs
+        healthCheckService.reconcileJournal();
+
+        // Then: Rows are only touched through the compare-and-set update, never a full save
+        verify(serviceRepository, never()).save(any(MonitoredService.class));
+        verify(serviceRepository).updateStatusIfNewer(1L, "Down", journaledAt);
+        verify(serviceRepository).updateStatusIfNewer(2L, "Down", journaledAt);
+        verify(statusJournal).retainOnly(List.of(1L, 2L));
+    }
 }
@@ -0,0 +1,138 @@
+package com.atinder.service_status_backend.service;
+
+import com.atinder.service_status_backend.model.CheckResult;
+import com.atinder.service_status_backend.repository.CheckHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HistoryExportService
+ * Cursor is simulated by a mocked repository feeding rows to the consumer
+ */
+@ExtendWith(MockitoExtension.class)
+class HistoryExportServiceTest {
+
+    @Mock
+    private CheckHistoryRepository checkHistoryRepository;
+
+    private HistoryExportService historyExportService;
+
+    private final OffsetDateTime checkedAt = OffsetDateTime.parse("2025-10-27T22:00:00Z");
+
+    @BeforeEach
+    void setUp() {
+        historyExportService = new HistoryExportService(checkHistoryRepository, 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void stubRows(CheckResult... rows) {
+        doAnswer(invocation -> {
+            Consumer<CheckResult> consumer = invocation.getArgument(3);
+            for (CheckResult row : rows) {
+                consumer.accept(row);
+            }
+            return null;
+        }).when(checkHistoryRepository).streamHistory(eq(1L), any(), any(), any(Consumer.class));
+    }
+
+    private String export(HistoryExportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        historyExportService.export(1L, null, null, format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testExport_Csv() throws Exception {
+        // Given: Two history rows, one without a response time
+        stubRows(
+            new CheckResult(1L, 1L, "Operational", 42, checkedAt),
+            new CheckResult(2L, 1L, "Down", null, checkedAt.plusSeconds(30)));
+
+        // Then: Header plus one line per row
+        assertThat(export(HistoryExportService.Format.CSV)).isEqualTo("""
+            service_id,checked_at,status,response_time_ms
+            1,2025-10-27T22:00Z,Operational,42
+            1,2025-10-27T22:00:30Z,Down,
+            """);
+    }
+
+    @Test
+    void testExport_Ndjson() throws Exception {
+        // Given: One history row
+        stubRows(new CheckResult(1L, 1L, "Down", null, checkedAt));
+
+        // Then: One JSON object per line
+        assertThat(export(HistoryExportService.Format.NDJSON))
+            .isEqualTo("{\"serviceId\":1,\"checkedAt\":\"2025-10-27T22:00Z\",\"status\":\"Down\",\"responseTimeMs\":null}\n");
+    }
+
+    @Test
+    void testExport_DefaultsOpenRangeBounds() throws Exception {
+        // Given: No rows
+        stubRows();
+
+        // When: Exported without from/to
+        export(HistoryExportService.Format.CSV);
+
+        // Then: Repository gets concrete bounds
+        verify(checkHistoryRepository).streamHistory(eq(1L),
+            argThat(from -> from != null && from.getYear() == 1970),
+            argThat(to -> to != null && !to.isAfter(OffsetDateTime.now())),
+            any());
+    }
+
+    @Test
+    void testExport_ClientDisconnectSurfacesAsIOException() {
+        // Given: Enough rows to overflow the writer buffer, and a client that went away
+        CheckResult[] rows = new CheckResult[2000];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = new CheckResult((long) i, 1L, "Operational", 42, checkedAt);
+        }
+        stubRows(rows);
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        // Then: The I/O error propagates (stopping further pages) instead of being wrapped
+        assertThatThrownBy(() -> historyExportService.export(1L, null, null, HistoryExportService.Format.CSV, broken))
+            .isInstanceOf(IOException.class)
+            .hasMessage("Broken pipe");
+    }
+
+    @Test
+    void testSlots_LimitConcurrentExports() {
+        // Given: Two slots, both taken
+        assertThat(historyExportService.tryAcquireSlot()).isTrue();
+        assertThat(historyExportService.tryAcquireSlot()).isTrue();
+
+        // Then: A third export is refused until one finishes
+        assertThat(historyExportService.tryAcquireSlot()).isFalse();
+        historyExportService.releaseSlot();
+        assertThat(historyExportService.tryAcquireSlot()).isTrue();
+    }
+
+    @Test
+    void testFormat_Parse() {
+        assertThat(HistoryExportService.Format.parse("NDJSON")).contains(HistoryExportService.Format.NDJSON);
+        assertThat(HistoryExportService.Format.parse("xml")).isEmpty();
+    }
+}
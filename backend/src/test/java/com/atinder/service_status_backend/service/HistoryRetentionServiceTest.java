@@ -0,0 +1,55 @@
+package com.atinder.service_status_backend.service;
+
+import com.atinder.service_status_backend.repository.CheckHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for HistoryRetentionService
+ */
+@ExtendWith(MockitoExtension.class)
+class HistoryRetentionServiceTest {
+
+    @Mock
+    private CheckHistoryRepository checkHistoryRepository;
+
+    @Test
+    void testPurgeExpired_DeletesInBatchesUntilDone() {
+        // Given: 90-day retention and more expired rows than one batch
+        HistoryRetentionService retentionService = new HistoryRetentionService(checkHistoryRepository, 90, 100);
+        when(checkHistoryRepository.deleteCheckedBefore(any(OffsetDateTime.class), eq(100))).thenReturn(100, 100, 40);
+        OffsetDateTime expectedCutoff = OffsetDateTime.now().minusDays(90);
+
+        // When: The purge runs
+        retentionService.purgeExpired();
+
+        // Then: Batches continue until one comes back short, all with the same cutoff
+        ArgumentCaptor<OffsetDateTime> cutoff = ArgumentCaptor.forClass(OffsetDateTime.class);
+        verify(checkHistoryRepository, times(3)).deleteCheckedBefore(cutoff.capture(), eq(100));
+        assertThat(cutoff.getAllValues()).containsOnly(cutoff.getValue());
+        assertThat(cutoff.getValue()).isAfterOrEqualTo(expectedCutoff).isBefore(expectedCutoff.plusMinutes(1));
+    }
+
+    @Test
+    void testPurgeExpired_DisabledWithZeroRetention() {
+        // Given: Retention turned off
+        HistoryRetentionService retentionService = new HistoryRetentionService(checkHistoryRepository, 0, 100);
+
+        // When: The purge runs
+        retentionService.purgeExpired();
+
+        // Then: Nothing is deleted
+        verify(checkHistoryRepository, never()).deleteCheckedBefore(any(), anyInt());
+    }
+}
@@ -0,0 +1,141 @@
+package com.atinder.service_status_backend.service;
+
+import com.atinder.service_status_backend.model.MonitoredService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ProbePacer scheduling decisions and metrics
+ * 30s interval, 5s tick, 10s sweep budget
+ */
+class ProbePacerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProbePacer probePacer;
+    private final OffsetDateTime now = OffsetDateTime.now();
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        probePacer = new ProbePacer(meterRegistry, 30000, 5000, 10000);
+    }
+
+    private MonitoredService service(String name, String status, Integer secondsSinceCheck) {
+        MonitoredService service = new MonitoredService(name, "https://example.com/" + name, "HTTP", status);
+        service.setId(nextId++);
+        service.setLastCheckedAt(secondsSinceCheck == null ? null : now.minusSeconds(secondsSinceCheck));
+        return service;
+    }
+
+    @Test
+    void testPlan_OnlyDueServicesMostUrgentFirst() {
+        // Given: A mix of due and not-yet-due services
+        MonitoredService notDue = service("not-due", "Operational", 10);
+        MonitoredService slightlyLate = service("slightly-late", "Operational", 31);
+        MonitoredService veryLate = service("very-late", "Operational", 45);
+        MonitoredService down = service("down", "Down", 30);
+        MonitoredService neverChecked = service("new", "Unknown", null);
+
+        // When: Planned
+        List<MonitoredService> plan = probePacer.plan(List.of(notDue, slightlyLate, veryLate, down, neverChecked), now);
+
+        // Then: Non-operational first, then most overdue; not-due excluded
+        assertThat(plan).extracting(MonitoredService::getName)
+            .containsExactly("down", "new", "very-late", "slightly-late");
+        assertThat(meterRegistry.get("health_check.max_lag_ms").gauge().value()).isEqualTo(15000);
+    }
+
+    @Test
+    void testPlan_ShedsHealthyChecksWhenOverloaded() {
+        // Given: Checks observed to take ~5s each, so 3 due checks exceed the 10s budget
+        for (int i = 0; i < 20; i++) {
+            probePacer.recordCheckCost(TimeUnit.SECONDS.toNanos(5));
+        }
+        MonitoredService healthy = service("healthy", "Operational", 35);
+        MonitoredService starving = service("starving", "Operational", 61);
+        MonitoredService degraded = service("degraded", "Degraded", 35);
+
+        // When: Planned
+        List<MonitoredService> plan = probePacer.plan(List.of(healthy, starving, degraded), now);
+
+        // Then: Healthy service deferred; one a full interval late is escalated, not starved
+        assertThat(plan).extracting(MonitoredService::getName).containsExactly("starving", "degraded");
+        assertThat(meterRegistry.get("health_check.deferred").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("health_check.overloaded").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void testPlan_SmallOverloadDefersOnlyWhatDoesNotFit() {
+        // Given: Checks cost 370 ms, so about 27 of 30 due services fit the 10s budget
+        probePacer.recordCheckCost(TimeUnit.MILLISECONDS.toNanos(370));
+        List<MonitoredService> due = IntStream.range(0, 30)
+            .mapToObj(i -> service("service-" + i, "Operational", 31 + i))
+            .toList();
+
+        // When: Planned on two ticks while the same services stay deferred
+        List<MonitoredService> plan = probePacer.plan(due, now);
+        probePacer.plan(due, now);
+
+        // Then: The most overdue 27 are probed; the other 3 are counted as deferred once
+        assertThat(plan).hasSize(27);
+        assertThat(plan.get(0).getName()).isEqualTo("service-29");
+        assertThat(meterRegistry.get("health_check.overloaded").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("health_check.deferred").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testPlan_FreshPacerIsNotOverloaded() {
+        // Given: A just-started pacer (no check cost measured yet) and 30 healthy due services
+        List<MonitoredService> due = IntStream.range(0, 30)
+            .mapToObj(i -> service("service-" + i, "Operational", 35))
+            .toList();
+
+        // When: Planned
+        List<MonitoredService> plan = probePacer.plan(due, now);
+
+        // Then: Nothing is shed on a guess; the sweep budget alone bounds the first tick
+        assertThat(plan).hasSize(30);
+        assertThat(meterRegistry.get("health_check.overloaded").gauge().value()).isZero();
+        assertThat(meterRegistry.get("health_check.deferred").counter().count()).isZero();
+    }
+
+    @Test
+    void testRecordCheckStart_TracksLagAndMissedDeadlines() {
+        // Given: One check on time (within a tick), one 20s late, one never checked
+        probePacer.recordCheckStart(service("on-time", "Operational", 33), now);
+        probePacer.recordCheckStart(service("late", "Operational", 50), now);
+        probePacer.recordCheckStart(service("new", "Unknown", null), now);
+
+        // Then: Lag recorded for checked services, one missed deadline
+        assertThat(meterRegistry.get("health_check.lag").timer().count()).isEqualTo(2);
+        assertThat(probePacer.lastLagMillis(2L)).isEqualTo(20000);
+        assertThat(probePacer.lastLagMillis(3L)).isNull();
+        assertThat(meterRegistry.get("health_check.lag").timer().max(TimeUnit.SECONDS)).isEqualTo(20);
+        assertThat(meterRegistry.get("health_check.missed_deadlines").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testRecordSweep_CountsPostponedServicesOnce() {
+        // Given: Three services cut off by the sweep budget on two ticks in a row
+        List<MonitoredService> postponed = List.of(
+            service("a", "Operational", 40), service("b", "Operational", 40), service("c", "Operational", 40));
+        probePacer.recordSweep(postponed, TimeUnit.SECONDS.toNanos(12));
+        probePacer.recordSweep(postponed, TimeUnit.SECONDS.toNanos(12));
+
+        // Then: Each is counted once; after being probed, a new deferral counts again
+        assertThat(meterRegistry.get("health_check.deferred").counter().count()).isEqualTo(3);
+        probePacer.recordCheckStart(postponed.get(0), now);
+        probePacer.recordSweep(postponed, TimeUnit.SECONDS.toNanos(12));
+        assertThat(meterRegistry.get("health_check.deferred").counter().count()).isEqualTo(4);
+        assertThat(meterRegistry.get("health_check.sweep").timer().count()).isEqualTo(3);
+    }
+}
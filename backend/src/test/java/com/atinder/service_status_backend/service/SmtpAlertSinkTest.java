@@ -0,0 +1,95 @@
+package com.atinder.service_status_backend.service;
+
+import com.atinder.service_status_backend.model.AlertOutboxEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests SmtpAlertSink against a minimal local stand-in SMTP server
+ */
+class SmtpAlertSinkTest {
+
+    private ServerSocket serverSocket;
+    private CompletableFuture<String> message;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        serverSocket = new ServerSocket(0);
+        message = CompletableFuture.supplyAsync(this::acceptOneMessage);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        serverSocket.close();
+    }
+
+    // Speaks just enough SMTP for one message; returns the DATA section
+    private String acceptOneMessage() {
+        try (Socket socket = serverSocket.accept();
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            StringBuilder data = new StringBuilder();
+            out.print("220 localhost SMTP stand-in\r\n");
+            out.flush();
+            for (String line = in.readLine(); line != null; line = in.readLine()) {
+                String command = line.toUpperCase();
+                if (command.startsWith("DATA")) {
+                    out.print("354 End data with <CR><LF>.<CR><LF>\r\n");
+                    out.flush();
+                    for (String dataLine = in.readLine(); !".".equals(dataLine); dataLine = in.readLine()) {
+                        data.append(dataLine).append('\n');
+                    }
+                    out.print("250 OK\r\n");
+                } else if (command.startsWith("QUIT")) {
+                    out.print("221 Bye\r\n");
+                    out.flush();
+                    break;
+                } else {
+                    out.print("250 OK\r\n");
+                }
+                out.flush();
+            }
+            return data.toString();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Test
+    void testSend_DeliversOneEmailPerBatch() throws Exception {
+        // Given: Mail sender pointed at the stand-in server
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(serverSocket.getLocalPort());
+        SmtpAlertSink sink = new SmtpAlertSink(mailSender, "status@example.com", new String[] {"oncall@example.com"});
+
+        List<AlertOutboxEntry> batch = List.of(
+            new AlertOutboxEntry("smtp", 1L, "GitHub", "Operational", "Down", 1, OffsetDateTime.now()),
+            new AlertOutboxEntry("smtp", 2L, "Google", "Down", "Operational", 1, OffsetDateTime.now()));
+
+        // When: Sent
+        sink.send(batch);
+
+        // Then: One email summarizing both changes
+        String data = message.get(5, TimeUnit.SECONDS);
+        assertThat(data)
+            .contains("Subject: [Service Status] 2 service status changes")
+            .contains("GitHub: Operational -> Down")
+            .contains("Google: Down -> Operational");
+    }
+}
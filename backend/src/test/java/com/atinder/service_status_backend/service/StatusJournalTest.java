@@ -0,0 +1,118 @@
+package com.atinder.service_status_backend.service;
+
+import com.atinder.service_status_backend.model.MonitoredService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for StatusJournal
+ * Uses a temporary file, no database needed
+ */
+class StatusJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private StatusJournal openJournal(int capacity) {
+        StatusJournal journal = new StatusJournal(tempDir.resolve("status.journal").toString(), capacity, true);
+        journal.open();
+        return journal;
+    }
+
+    private MonitoredService checkedService(long id, String status, OffsetDateTime checkedAt) {
+        MonitoredService service = new MonitoredService("Service " + id, "https://example.com/" + id, "HTTP", status);
+        service.setId(id);
+        service.setLastCheckedAt(checkedAt);
+        return service;
+    }
+
+    @Test
+    void testRestore_AfterRestart() {
+        // Given: Two probe results journaled, then the process stops
+        OffsetDateTime checkedAt = OffsetDateTime.of(2025, 10, 27, 22, 0, 0, 0, ZoneOffset.ofHours(-4));
+        StatusJournal journal = openJournal(16);
+        journal.record(checkedService(1L, "Operational", checkedAt));
+        journal.record(checkedService(2L, "Down", checkedAt));
+        journal.record(checkedService(1L, "Degraded", checkedAt.plusSeconds(30)));
+        journal.close();
+
+        // When: Journal is reopened
+        StatusJournal restored = openJournal(16);
+
+        // Then: Latest state per service is restored
+        assertThat(restored.snapshot()).hasSize(2);
+        assertThat(restored.snapshot().get(1L).status()).isEqualTo("Degraded");
+        assertThat(restored.snapshot().get(1L).lastCheckedAt()).isEqualTo(checkedAt.plusSeconds(30));
+        assertThat(restored.snapshot().get(2L).status()).isEqualTo("Down");
+    }
+
+    @Test
+    void testRestore_SkipsCorruptSlot() throws Exception {
+        // Given: A journaled entry whose bytes are damaged on disk
+        StatusJournal journal = openJournal(16);
+        journal.record(checkedService(1L, "Operational", OffsetDateTime.now()));
+        journal.record(checkedService(2L, "Operational", OffsetDateTime.now()));
+        journal.close();
+
+        try (RandomAccessFile file = new RandomAccessFile(tempDir.resolve("status.journal").toFile(), "rw")) {
+            file.seek(16 + 64 + 21); // Status bytes of the second slot
+            file.write('X');
+        }
+
+        // When: Journal is reopened
+        StatusJournal restored = openJournal(16);
+
+        // Then: Only the intact entry is restored
+        assertThat(restored.snapshot()).containsOnlyKeys(1L);
+    }
+
+    @Test
+    void testRetainOnly_FreesSlotsForNewServices() {
+        // Given: A full journal
+        StatusJournal journal = openJournal(2);
+        journal.record(checkedService(1L, "Operational", OffsetDateTime.now()));
+        journal.record(checkedService(2L, "Operational", OffsetDateTime.now()));
+
+        // When: Service 1 is deleted and a new service is checked
+        journal.retainOnly(List.of(2L));
+        journal.record(checkedService(3L, "Down", OffsetDateTime.now()));
+        journal.close();
+
+        // Then: The new service took the freed slot and survives a restart
+        assertThat(openJournal(2).snapshot()).containsOnlyKeys(2L, 3L);
+    }
+
+    @Test
+    void testDisabled_KeepsInMemoryStateOnly() {
+        // Given: Journal disabled
+        StatusJournal journal = new StatusJournal(tempDir.resolve("disabled.journal").toString(), 16, false);
+        journal.open();
+
+        // When: A probe result is recorded
+        journal.record(checkedService(1L, "Operational", OffsetDateTime.now()));
+
+        // Then: Nothing is written to disk
+        assertThat(journal.snapshot()).containsOnlyKeys(1L);
+        assertThat(tempDir.resolve("disabled.journal")).doesNotExist();
+    }
+
+    @Test
+    void testFind_ReturnsEntryOrNull() {
+        // Given: One journaled service
+        StatusJournal journal = openJournal(16);
+        journal.record(checkedService(1L, "Down", OffsetDateTime.now()));
+
+        // When & Then: Lookups hit the live map, unknown and null ids return null
+        assertThat(journal.find(1L).status()).isEqualTo("Down");
+        assertThat(journal.find(2L)).isNull();
+        assertThat(journal.find(null)).isNull();
+    }
+}
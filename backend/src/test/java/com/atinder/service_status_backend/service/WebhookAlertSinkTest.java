@@ -0,0 +1,76 @@
+package com.atinder.service_status_backend.service;
+
+import com.atinder.service_status_backend.model.AlertOutboxEntry;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests WebhookAlertSink against a local stand-in HTTP server
+ */
+class WebhookAlertSinkTest {
+
+    private HttpServer server;
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private volatile int responseStatus = 200;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/hook", exchange -> {
+            received.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.sendResponseHeaders(responseStatus, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private WebhookAlertSink sink() {
+        return new WebhookAlertSink("http://localhost:" + server.getAddress().getPort() + "/hook", 5000);
+    }
+
+    @Test
+    void testSend_PostsOneCombinedNotification() {
+        // Given: A batch from a mass outage
+        List<AlertOutboxEntry> batch = List.of(
+            new AlertOutboxEntry("webhook", 1L, "GitHub", "Operational", "Down", 1, OffsetDateTime.now()),
+            new AlertOutboxEntry("webhook", 2L, "Google", "Operational", "Down", 4, OffsetDateTime.now()));
+
+        // When: Sent
+        sink().send(batch);
+
+        // Then: Exactly one request containing both changes
+        assertThat(received).hasSize(1);
+        assertThat(received.get(0))
+            .contains("2 service status changes")
+            .contains("\"service\":\"GitHub\"")
+            .contains("\"service\":\"Google\"")
+            .contains("flapping, 4 changes");
+    }
+
+    @Test
+    void testSend_ThrowsOnErrorStatusSoBatchIsRetried() {
+        // Given: Endpoint is failing
+        responseStatus = 503;
+        List<AlertOutboxEntry> batch = List.of(
+            new AlertOutboxEntry("webhook", 1L, "GitHub", "Operational", "Down", 1, OffsetDateTime.now()));
+
+        // When & Then: Failure surfaces to the caller
+        assertThatThrownBy(() -> sink().send(batch)).hasMessageContaining("503");
+    }
+}
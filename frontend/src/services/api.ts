@@ -1,21 +1,60 @@
-import type { ServiceGroup } from '../types';
+import type { ServiceCheck, ServiceGroup, ServiceStatus } from '../types';
 import { API_BASE_URL } from '../config/constants';
+import { decodeCbor, type CborValue } from '../utils/cbor';
 
 /**
  * API Service Layer - handles all backend communication
  * Similar to Repository layer in Spring Boot backend
  */
 
+/**
+ * Wire codes used by the backend's compact encoding (index = code)
+ * Must match CompactServiceDTO.STATUS_CODES
+ */
+const STATUS_CODES: ServiceStatus[] = ['Operational', 'Degraded', 'Maintenance', 'Down', 'Unknown'];
+
+function toStatus(code: CborValue): ServiceStatus {
+  return STATUS_CODES[code as number] ?? 'Unknown';
+}
+
+/**
+ * Decode the compact CBOR form of /api/services
+ * Groups: [title, status, checks]; checks: [id, name, url, checkType, status, lastCheckedAt (epoch ms)]
+ */
+export function decodeServiceGroups(bytes: Uint8Array): ServiceGroup[] {
+  const groups = decodeCbor(bytes) as CborValue[][];
+
+  return groups.map(([title, status, checks]) => ({
+    title: title as string,
+    status: toStatus(status),
+    checks: (checks as CborValue[][]).map(([id, name, url, checkType, checkStatus, lastCheckedAt]): ServiceCheck => ({
+      id: id as number,
+      name: name as string,
+      url: url as string,
+      checkType: checkType as string,
+      currentStatus: toStatus(checkStatus),
+      lastCheckedAt: lastCheckedAt == null ? null : new Date(lastCheckedAt as number).toISOString(),
+    })),
+  }));
+}
+
 export class ApiService {
   /**
    * Fetch all service groups with their current status
+   * Prefers the compact CBOR encoding, falls back to JSON if the backend does not offer it
    */
   static async fetchServices(): Promise<ServiceGroup[]> {
-    const response = await fetch(`${API_BASE_URL}/api/services`);
+    const response = await fetch(`${API_BASE_URL}/api/services`, {
+      headers: { Accept: 'application/cbor, application/json;q=0.9' },
+    });
     
     if (!response.ok) {
       throw new Error(`HTTP ${response.status}: ${response.statusText}`);
     }
+
+    if (response.headers.get('Content-Type')?.startsWith('application/cbor')) {
+      return decodeServiceGroups(new Uint8Array(await response.arrayBuffer()));
+    }
     
     return response.json();
   }
@@ -0,0 +1,100 @@
+import { bench, describe } from 'vitest';
+import { decodeServiceGroups } from '../services/api';
+
+/**
+ * Client-side decode cost of /api/services: compact CBOR through our decoder vs JSON.parse
+ * Same 5,000-service fleet as the backend's CompactEncodingBenchmarkTest
+ * Run with: npm run bench
+ */
+
+const SERVICES = 5_000;
+const STATUSES = ['Operational', 'Operational', 'Operational', 'Degraded', 'Down'];
+const STATUS_CODES: Record<string, number> = { Operational: 0, Degraded: 1, Down: 3 };
+
+type Encodable = number | string | null | Encodable[];
+
+const utf8 = new TextEncoder();
+
+function writeHead(major: number, value: number, out: number[]): void {
+  const type = major << 5;
+  if (value < 24) {
+    out.push(type | value);
+  } else if (value < 0x100) {
+    out.push(type | 24, value);
+  } else if (value < 0x10000) {
+    out.push(type | 25, value >> 8, value & 0xff);
+  } else if (value < 0x100000000) {
+    out.push(type | 26, (value >>> 24) & 0xff, (value >>> 16) & 0xff, (value >>> 8) & 0xff, value & 0xff);
+  } else {
+    const high = Math.floor(value / 0x100000000);
+    const low = value >>> 0;
+    out.push(type | 27);
+    for (const word of [high, low]) {
+      out.push((word >>> 24) & 0xff, (word >>> 16) & 0xff, (word >>> 8) & 0xff, word & 0xff);
+    }
+  }
+}
+
+// Just enough CBOR to mirror what Jackson emits for CompactServiceGroupDTO (non-negative ints only)
+function encode(value: Encodable, out: number[]): void {
+  if (value === null) {
+    out.push(0xf6);
+  } else if (typeof value === 'number') {
+    writeHead(0, value, out);
+  } else if (typeof value === 'string') {
+    const bytes = utf8.encode(value);
+    writeHead(3, bytes.length, out);
+    for (const byte of bytes) out.push(byte);
+  } else {
+    writeHead(4, value.length, out);
+    for (const item of value) encode(item, out);
+  }
+}
+
+const now = Date.now();
+const fleet = Array.from({ length: SERVICES }, (_, i) => ({
+  id: i,
+  name: `service-${i}`,
+  url: `https://service-${i}.example.com/health`,
+  checkType: 'HTTP',
+  currentStatus: STATUSES[i % STATUSES.length],
+  lastCheckedAt: new Date(now - (i % 30) * 1000).toISOString(),
+}));
+
+const jsonText = JSON.stringify([{ title: 'All Services', checks: fleet, status: 'Down' }]);
+const jsonBytes = utf8.encode(jsonText);
+
+const cborOut: number[] = [];
+encode(
+  [
+    [
+      'All Services',
+      STATUS_CODES.Down,
+      fleet.map((check): Encodable => [
+        check.id,
+        check.name,
+        check.url,
+        check.checkType,
+        STATUS_CODES[check.currentStatus],
+        Date.parse(check.lastCheckedAt),
+      ]),
+    ],
+  ],
+  cborOut
+);
+const cborBytes = new Uint8Array(cborOut);
+
+describe(`decode /api/services (${SERVICES} services, JSON ${jsonBytes.length} B, CBOR ${cborBytes.length} B)`, () => {
+  bench('CBOR: decodeServiceGroups', () => {
+    decodeServiceGroups(cborBytes);
+  });
+
+  // What response.json() does: UTF-8 decode plus parse
+  bench('JSON: TextDecoder + JSON.parse', () => {
+    JSON.parse(new TextDecoder().decode(jsonBytes));
+  });
+
+  bench('JSON: JSON.parse (string already decoded)', () => {
+    JSON.parse(jsonText);
+  });
+});
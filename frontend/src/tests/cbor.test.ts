@@ -0,0 +1,74 @@
+import { describe, it, expect } from 'vitest';
+import { decodeCbor } from '../utils/cbor';
+import { decodeServiceGroups } from '../services/api';
+
+function hex(value: string): Uint8Array {
+  return new Uint8Array(value.match(/../g)!.map((byte) => parseInt(byte, 16)));
+}
+
+describe('CBOR decoding', () => {
+  describe('decodeCbor', () => {
+    it('should decode integers of every width', () => {
+      expect(decodeCbor(hex('17'))).toBe(23);
+      expect(decodeCbor(hex('1818'))).toBe(24);
+      expect(decodeCbor(hex('190100'))).toBe(256);
+      expect(decodeCbor(hex('1a00010000'))).toBe(65536);
+      expect(decodeCbor(hex('1b0000019a27af6f00'))).toBe(1761602400000);
+      expect(decodeCbor(hex('20'))).toBe(-1);
+    });
+
+    it('should decode strings, simple values and floats', () => {
+      expect(decodeCbor(hex('6449455446'))).toBe('IETF');
+      expect(decodeCbor(hex('f6'))).toBeNull();
+      expect(decodeCbor(hex('f5'))).toBe(true);
+      expect(decodeCbor(hex('f93c00'))).toBe(1);
+      expect(decodeCbor(hex('fb3ff199999999999a'))).toBe(1.1);
+    });
+
+    it('should decode indefinite-length arrays and maps', () => {
+      expect(decodeCbor(hex('9f0102ff'))).toEqual([1, 2]);
+      expect(decodeCbor(hex('bf616101ff'))).toEqual({ a: 1 });
+    });
+
+    it('should reject truncated and trailing input', () => {
+      expect(() => decodeCbor(hex('82'))).toThrow();
+      expect(() => decodeCbor(hex('0101'))).toThrow('Trailing bytes');
+    });
+  });
+
+  describe('decodeServiceGroups', () => {
+    it('should map the compact form to service groups', () => {
+      // [["All Services", 3, [[1, "GitHub", "https://github.com", "HTTP", 0, 1761602400000],
+      //                       [2, "Google", "https://google.com", "HTTP", 3, null]]]]
+      const payload = hex(
+        '81836c416c6c20536572766963657303828601664769744875627268747470733a2f2f6769746875622e636f6d6448545450001b0000019a27af6f00' +
+          '860266476f6f676c657268747470733a2f2f676f6f676c652e636f6d644854545003f6'
+      );
+
+      expect(decodeServiceGroups(payload)).toEqual([
+        {
+          title: 'All Services',
+          status: 'Down',
+          checks: [
+            {
+              id: 1,
+              name: 'GitHub',
+              url: 'https://github.com',
+              checkType: 'HTTP',
+              currentStatus: 'Operational',
+              lastCheckedAt: '2025-10-27T22:00:00.000Z',
+            },
+            {
+              id: 2,
+              name: 'Google',
+              url: 'https://google.com',
+              checkType: 'HTTP',
+              currentStatus: 'Down',
+              lastCheckedAt: null,
+            },
+          ],
+        },
+      ]);
+    });
+  });
+});
@@ -0,0 +1,208 @@
+/**
+ * Minimal CBOR (RFC 8949) decoder
+ * Covers what the backend's Jackson CBOR encoder emits: integers, strings,
+ * arrays, maps, floats, true/false/null (definite and indefinite lengths)
+ */
+
+export type CborValue =
+  | number
+  | string
+  | boolean
+  | null
+  | undefined
+  | Uint8Array
+  | CborValue[]
+  | { [key: string]: CborValue };
+
+const BREAK = Symbol('break');
+
+// Shared: a 5,000-service payload has ~20k strings, one decoder instance each would dominate
+const utf8 = new TextDecoder();
+
+class CborReader {
+  private offset = 0;
+  private readonly bytes: Uint8Array;
+  private readonly view: DataView;
+
+  constructor(bytes: Uint8Array) {
+    this.bytes = bytes;
+    this.view = new DataView(bytes.buffer, bytes.byteOffset, bytes.byteLength);
+  }
+
+  get done(): boolean {
+    return this.offset >= this.bytes.length;
+  }
+
+  read(): CborValue | typeof BREAK {
+    const initial = this.view.getUint8(this.offset++);
+    const major = initial >> 5;
+    const info = initial & 0x1f;
+
+    if (initial === 0xff) return BREAK;
+
+    switch (major) {
+      case 0:
+        return this.readLength(info);
+      case 1:
+        return -1 - this.readLength(info);
+      case 2:
+        return this.readBytes(info);
+      case 3:
+        return this.readText(info);
+      case 4:
+        return this.readArray(info);
+      case 5:
+        return this.readMap(info);
+      case 6:
+        // Tags carry no meaning for our payloads: return the tagged value
+        this.readLength(info);
+        return this.readValue();
+      default:
+        return this.readSimple(info);
+    }
+  }
+
+  readValue(): CborValue {
+    const value = this.read();
+    if (value === BREAK) throw new Error('Unexpected CBOR break');
+    return value;
+  }
+
+  private readLength(info: number): number {
+    if (info < 24) return info;
+    switch (info) {
+      case 24:
+        return this.view.getUint8(this.offset++);
+      case 25: {
+        const value = this.view.getUint16(this.offset);
+        this.offset += 2;
+        return value;
+      }
+      case 26: {
+        const value = this.view.getUint32(this.offset);
+        this.offset += 4;
+        return value;
+      }
+      case 27: {
+        // Epoch millis exceed 32 bits; fine as a JS number up to 2^53
+        const high = this.view.getUint32(this.offset);
+        const low = this.view.getUint32(this.offset + 4);
+        this.offset += 8;
+        return high * 0x100000000 + low;
+      }
+      default:
+        throw new Error(`Unsupported CBOR length encoding: ${info}`);
+    }
+  }
+
+  private readBytes(info: number): Uint8Array {
+    if (info === 31) {
+      const chunks: Uint8Array[] = [];
+      for (let chunk = this.read(); chunk !== BREAK; chunk = this.read()) {
+        chunks.push(chunk as Uint8Array);
+      }
+      const joined = new Uint8Array(chunks.reduce((total, chunk) => total + chunk.length, 0));
+      let position = 0;
+      for (const chunk of chunks) {
+        joined.set(chunk, position);
+        position += chunk.length;
+      }
+      return joined;
+    }
+    const length = this.readLength(info);
+    const value = this.bytes.subarray(this.offset, this.offset + length);
+    this.offset += length;
+    return value;
+  }
+
+  private readText(info: number): string {
+    if (info === 31) {
+      let text = '';
+      for (let chunk = this.read(); chunk !== BREAK; chunk = this.read()) {
+        text += chunk as string;
+      }
+      return text;
+    }
+    return utf8.decode(this.readBytes(info));
+  }
+
+  private readArray(info: number): CborValue[] {
+    const items: CborValue[] = [];
+    if (info === 31) {
+      for (let item = this.read(); item !== BREAK; item = this.read()) {
+        items.push(item);
+      }
+      return items;
+    }
+    const length = this.readLength(info);
+    for (let i = 0; i < length; i++) {
+      items.push(this.readValue());
+    }
+    return items;
+  }
+
+  private readMap(info: number): { [key: string]: CborValue } {
+    const map: { [key: string]: CborValue } = {};
+    if (info === 31) {
+      for (let key = this.read(); key !== BREAK; key = this.read()) {
+        map[String(key)] = this.readValue();
+      }
+      return map;
+    }
+    const length = this.readLength(info);
+    for (let i = 0; i < length; i++) {
+      const key = this.readValue();
+      map[String(key)] = this.readValue();
+    }
+    return map;
+  }
+
+  private readSimple(info: number): CborValue {
+    switch (info) {
+      case 20:
+        return false;
+      case 21:
+        return true;
+      case 22:
+        return null;
+      case 23:
+        return undefined;
+      case 25: {
+        const value = this.readHalfFloat(this.view.getUint16(this.offset));
+        this.offset += 2;
+        return value;
+      }
+      case 26: {
+        const value = this.view.getFloat32(this.offset);
+        this.offset += 4;
+        return value;
+      }
+      case 27: {
+        const value = this.view.getFloat64(this.offset);
+        this.offset += 8;
+        return value;
+      }
+      default:
+        throw new Error(`Unsupported CBOR simple value: ${info}`);
+    }
+  }
+
+  private readHalfFloat(half: number): number {
+    const sign = half & 0x8000 ? -1 : 1;
+    const exponent = (half >> 10) & 0x1f;
+    const fraction = half & 0x3ff;
+    if (exponent === 0) return sign * 2 ** -14 * (fraction / 1024);
+    if (exponent === 0x1f) return fraction ? NaN : sign * Infinity;
+    return sign * 2 ** (exponent - 15) * (1 + fraction / 1024);
+  }
+}
+
+/**
+ * Decode a single CBOR data item
+ */
+export function decodeCbor(bytes: Uint8Array): CborValue {
+  const reader = new CborReader(bytes);
+  const value = reader.readValue();
+  if (!reader.done) throw new Error('Trailing bytes after CBOR value');
+  return value;
+}